@@ -0,0 +1,89 @@
+package com.foodorderservice.Foodie.advices;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.foodorderservice.Foodie.dtos.OrderItemDTO;
+import com.foodorderservice.Foodie.dtos.OrderResponseDTO;
+import com.foodorderservice.Foodie.dtos.PageResponseDTO;
+import com.foodorderservice.Foodie.entity.enums.OrderStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the {@code GET /api/orders} response body, configured like the application's
+ * ObjectMapper ({@code write-dates-as-timestamps: false}): through the mapper as Spring MVC does, and
+ * through a writer resolved once for the response type.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter typedWriter;
+    private ApiResponseWrapper<PageResponseDTO<OrderResponseDTO>> response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                                                  .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                                                  .build();
+        typedWriter = objectMapper.writerFor(new TypeReference<ApiResponseWrapper<PageResponseDTO<OrderResponseDTO>>>() {
+        });
+
+        List<OrderResponseDTO> orders = new ArrayList<>();
+        for (long id = 1; id <= pageSize; id++) {
+            orders.add(OrderResponseDTO.builder()
+                                       .id(id)
+                                       .customerName("Customer " + id)
+                                       .totalAmount(new BigDecimal("26.97"))
+                                       .status(OrderStatus.PROCESSED)
+                                       .orderTime(LocalDateTime.of(2025, 9, 14, 11, 17, 33))
+                                       .processedTime(LocalDateTime.of(2025, 9, 14, 11, 17, 38))
+                                       .version(2L)
+                                       .items(List.of(
+                                               OrderItemDTO.builder().itemName("Burger").quantity(2).price(new BigDecimal("8.99")).build(),
+                                               OrderItemDTO.builder().itemName("Fries").quantity(1).price(new BigDecimal("3.99")).build(),
+                                               OrderItemDTO.builder().itemName("Coke").quantity(2).price(new BigDecimal("2.50")).build()))
+                                       .build());
+        }
+        response = ApiResponseWrapper.<PageResponseDTO<OrderResponseDTO>>builder()
+                                     .success(true)
+                                     .message("Orders retrieved successfully")
+                                     .data(PageResponseDTO.<OrderResponseDTO>builder()
+                                                          .content(orders)
+                                                          .pageNumber(0)
+                                                          .pageSize(pageSize)
+                                                          .totalElements(1000)
+                                                          .totalPages(1000 / pageSize)
+                                                          .first(true)
+                                                          .last(false)
+                                                          .build())
+                                     .build();
+    }
+
+    @Benchmark
+    public byte[] objectMapper() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] typedWriter() throws JsonProcessingException {
+        return typedWriter.writeValueAsBytes(response);
+    }
+}
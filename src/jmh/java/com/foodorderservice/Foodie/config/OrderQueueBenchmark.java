@@ -0,0 +1,115 @@
+package com.foodorderservice.Foodie.config;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares the heap ({@link QueueConfig.InMemoryQueue}), memory-mapped ({@link MappedOrderQueue}) and
+ * ring-buffer ({@link RingBufferOrderQueue}) queue implementations: single-threaded enqueue+dequeue cost, and throughput with one producer and one
+ * consumer, and with four producers and four consumers contending for the queue lock. Consumers take one id at a
+ * time without waiting, so none is left blocked when the producers stop at the end of an iteration.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Group)
+public class OrderQueueBenchmark {
+
+    private static final int CAPACITY = 1 << 16;
+
+    @Param({"heap", "mmap", "ring"})
+    public String type;
+
+    private OrderQueue queue;
+    private Path directory;
+    private long nextId;
+
+    @State(Scope.Thread)
+    public static class Taken {
+        final List<Long> orderIds = new ArrayList<>(1);
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        nextId = 1;
+        if ("mmap".equals(type)) {
+            directory = Files.createTempDirectory("order-queue-bench");
+            queue = new MappedOrderQueue(directory, CAPACITY, 1 << 20);
+        } else if ("ring".equals(type)) {
+            queue = new RingBufferOrderQueue(CAPACITY, RingBufferOrderQueue.WaitStrategy.BLOCKING);
+        } else {
+            queue = new QueueConfig.InMemoryQueue(CAPACITY);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        if (queue instanceof MappedOrderQueue mapped) {
+            mapped.close();
+        }
+        if (directory != null) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+            directory = null;
+        }
+    }
+
+    @Benchmark
+    @Group("roundTrip")
+    public Long offerThenTake() throws InterruptedException {
+        queue.offer(nextId++);
+        return queue.take();
+    }
+
+    @Benchmark
+    @Group("producerConsumer")
+    @GroupThreads(1)
+    public boolean producer() throws InterruptedException {
+        return queue.offer(ThreadLocalIds.next(), 10, TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    @Group("producerConsumer")
+    @GroupThreads(1)
+    public int consumer(Taken taken) {
+        return takeOne(taken);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(4)
+    public boolean contendedProducer() throws InterruptedException {
+        return queue.offer(ThreadLocalIds.next(), 10, TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(4)
+    public int contendedConsumer(Taken taken) {
+        return takeOne(taken);
+    }
+
+    private int takeOne(Taken taken) {
+        taken.orderIds.clear();
+        return queue.drainTo(taken.orderIds, 1);
+    }
+
+    static final class ThreadLocalIds {
+        private static final ThreadLocal<long[]> NEXT = ThreadLocal.withInitial(() -> new long[]{1});
+
+        static long next() {
+            return NEXT.get()[0]++;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.foodorderservice.Foodie.config;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enqueue throughput with 1, 4 and 16 producers feeding one consumer that drains batches with
+ * {@code drainTo}, as {@code QueueService.receiveOrders} does after its first id, for
+ * {@link QueueConfig.InMemoryQueue} and each {@link RingBufferOrderQueue.WaitStrategy}. The producer score is the
+ * number of ids offered; offers time out after 10 ms when the consumer falls behind.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Group)
+public class OrderQueueProducersBenchmark {
+
+    private static final int CAPACITY = 1 << 12;
+    private static final int BATCH = 50;
+
+    @Param({"heap", "ring-blocking", "ring-yielding", "ring-busy_spin"})
+    public String type;
+
+    private OrderQueue queue;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        if (type.startsWith("ring-")) {
+            RingBufferOrderQueue.WaitStrategy strategy =
+                    RingBufferOrderQueue.WaitStrategy.valueOf(type.substring("ring-".length()).toUpperCase(Locale.ROOT));
+            queue = new RingBufferOrderQueue(CAPACITY, strategy);
+        } else {
+            queue = new QueueConfig.InMemoryQueue(CAPACITY);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ConsumerBatch {
+        final List<Long> orderIds = new ArrayList<>(BATCH);
+    }
+
+    @Benchmark
+    @Group("producers1")
+    @GroupThreads(1)
+    public boolean producer1() throws InterruptedException {
+        return offer();
+    }
+
+    @Benchmark
+    @Group("producers1")
+    @GroupThreads(1)
+    public int consumer1(ConsumerBatch batch) {
+        return drain(batch);
+    }
+
+    @Benchmark
+    @Group("producers4")
+    @GroupThreads(4)
+    public boolean producer4() throws InterruptedException {
+        return offer();
+    }
+
+    @Benchmark
+    @Group("producers4")
+    @GroupThreads(1)
+    public int consumer4(ConsumerBatch batch) {
+        return drain(batch);
+    }
+
+    @Benchmark
+    @Group("producers16")
+    @GroupThreads(16)
+    public boolean producer16() throws InterruptedException {
+        return offer();
+    }
+
+    @Benchmark
+    @Group("producers16")
+    @GroupThreads(1)
+    public int consumer16(ConsumerBatch batch) {
+        return drain(batch);
+    }
+
+    private boolean offer() throws InterruptedException {
+        return queue.offer(OrderQueueBenchmark.ThreadLocalIds.next(), 10, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Takes whatever is queued, up to the batch size, without waiting, so the consumer is never left blocked
+     * when the producers stop at the end of an iteration.
+     */
+    private int drain(ConsumerBatch batch) {
+        batch.orderIds.clear();
+        return queue.drainTo(batch.orderIds, BATCH);
+    }
+}
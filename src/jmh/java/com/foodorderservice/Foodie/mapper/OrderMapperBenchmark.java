@@ -0,0 +1,86 @@
+package com.foodorderservice.Foodie.mapper;
+
+import com.foodorderservice.Foodie.dtos.OrderItemDTO;
+import com.foodorderservice.Foodie.dtos.OrderRequestDTO;
+import com.foodorderservice.Foodie.dtos.OrderResponseDTO;
+import com.foodorderservice.Foodie.entity.Order;
+import com.foodorderservice.Foodie.entity.enums.OrderStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct mapping cost on the create path (request DTO → entity) and the read path (entity → response
+ * DTO, single and page of 20), for orders of {@code items} items.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderMapperBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1", "5", "20"})
+    public int items;
+
+    private AnnotationConfigApplicationContext context;
+    private OrderMapper orderMapper;
+    private OrderRequestDTO request;
+    private Order order;
+    private List<Order> page;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(OrderMapperImpl.class, OrderItemMapperImpl.class);
+        orderMapper = context.getBean(OrderMapper.class);
+
+        List<OrderItemDTO> itemDTOs = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            itemDTOs.add(OrderItemDTO.builder().itemName("Item " + i).quantity(2).price(new BigDecimal("4.99")).build());
+        }
+        request = OrderRequestDTO.builder()
+                                 .customerName("Benchmark Customer")
+                                 .items(itemDTOs)
+                                 .totalAmount(new BigDecimal("9.98").multiply(BigDecimal.valueOf(items)))
+                                 .build();
+
+        page = new ArrayList<>();
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            Order mapped = orderMapper.toEntity(request);
+            mapped.setId(id);
+            mapped.setStatus(OrderStatus.PENDING);
+            mapped.setOrderTime(LocalDateTime.now());
+            mapped.setVersion(0L);
+            page.add(mapped);
+        }
+        order = page.get(0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Order requestToEntity() {
+        return orderMapper.toEntity(request);
+    }
+
+    @Benchmark
+    public OrderResponseDTO entityToResponse() {
+        return orderMapper.toResponseDTO(order);
+    }
+
+    @Benchmark
+    public List<OrderResponseDTO> pageToResponses() {
+        return orderMapper.toResponseDTOs(page);
+    }
+}
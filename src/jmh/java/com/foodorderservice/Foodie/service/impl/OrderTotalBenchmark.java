@@ -0,0 +1,43 @@
+package com.foodorderservice.Foodie.service.impl;
+
+import com.foodorderservice.Foodie.dtos.OrderItemDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OrderServiceImpl#calculateTotalAmount}, the {@code BigDecimal} sum run for every created order.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderTotalBenchmark {
+
+    @Param({"1", "5", "20", "100"})
+    public int items;
+
+    private List<OrderItemDTO> orderItems;
+
+    @Setup
+    public void setUp() {
+        orderItems = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            orderItems.add(OrderItemDTO.builder()
+                                       .itemName("Item " + i)
+                                       .quantity(1 + i % 5)
+                                       .price(new BigDecimal(String.format("%d.%02d", 1 + i % 30, i % 100)))
+                                       .build());
+        }
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalAmount() {
+        return OrderServiceImpl.calculateTotalAmount(orderItems);
+    }
+}
@@ -2,7 +2,9 @@ package com.foodorderservice.Foodie.advices;
 
 
 import com.foodorderservice.Foodie.exception.*;
+import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -50,6 +52,14 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.BAD_REQUEST, "Validation failed", errors);
     }
 
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ApiResponseWrapper<Void>> handleConstraintViolationException(ConstraintViolationException ex, WebRequest request) {
+        List<String> errors = ex.getConstraintViolations().stream()
+                                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                                .toList();
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, "Validation failed", errors);
+    }
+
     @ExceptionHandler(OrderNotFoundException.class)
     public ResponseEntity<ApiResponseWrapper<Void>> handleOrderNotFoundException(OrderNotFoundException ex, WebRequest request) {
         log.warn("Order not found: {}", ex.getMessage());
@@ -64,6 +74,47 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.BAD_REQUEST, "Invalid order state", sub);
     }
 
+    @ExceptionHandler(OrderConflictException.class)
+    public ResponseEntity<ApiResponseWrapper<Void>> handleOrderConflictException(OrderConflictException ex, WebRequest request) {
+        log.warn("Order update conflict: {}", ex.getMessage());
+        List<String> sub = List.of(ex.getMessage());
+        return buildErrorResponse(HttpStatus.CONFLICT, "Order update conflict", sub);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiResponseWrapper<Void>> handleInvalidCursorException(InvalidCursorException ex, WebRequest request) {
+        log.warn("Invalid cursor: {}", ex.getMessage());
+        List<String> sub = List.of(ex.getMessage());
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, "Invalid cursor", sub);
+    }
+
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<ApiResponseWrapper<Void>> handleIdempotencyKeyMismatchException(IdempotencyKeyMismatchException ex, WebRequest request) {
+        log.warn("Idempotency key reused: {}", ex.getMessage());
+        List<String> sub = List.of(ex.getMessage());
+        return buildErrorResponse(HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency key reused", sub);
+    }
+
+    @ExceptionHandler(OrderIntakeThrottledException.class)
+    public ResponseEntity<ApiResponseWrapper<Void>> handleOrderIntakeThrottledException(OrderIntakeThrottledException ex, WebRequest request) {
+        log.debug("Order intake throttled: {}", ex.getMessage());
+        ResponseEntity<ApiResponseWrapper<Void>> response =
+                buildErrorResponse(HttpStatus.TOO_MANY_REQUESTS, "Too many orders in flight, retry later", List.of(ex.getMessage()));
+        return ResponseEntity.status(response.getStatusCode())
+                             .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                             .body(response.getBody());
+    }
+
+    @ExceptionHandler(OrderWorkerBusyException.class)
+    public ResponseEntity<ApiResponseWrapper<Void>> handleOrderWorkerBusyException(OrderWorkerBusyException ex, WebRequest request) {
+        log.warn("Order worker busy: {}", ex.getMessage());
+        ResponseEntity<ApiResponseWrapper<Void>> response =
+                buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Order is busy, retry later", List.of(ex.getMessage()));
+        return ResponseEntity.status(response.getStatusCode())
+                             .header(HttpHeaders.RETRY_AFTER, "1")
+                             .body(response.getBody());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponseWrapper<Void>> handleGlobalException(Exception ex, WebRequest request) {
         log.error("Unexpected error occurred", ex); // full stack trace in logs
@@ -0,0 +1,228 @@
+package com.foodorderservice.Foodie.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Size- and TTL-bounded cache split into independently locked LRU segments.
+ * <p>
+ * Invalidation bumps a stamp for the key's slot before removing the entry, and a loaded value is only
+ * stored if the stamp is unchanged since the lookup started. A reader that loaded a value just before a
+ * concurrent change therefore cannot re-insert it after the change invalidated the key.
+ */
+public class BoundedTtlCache<K, V> {
+
+    private static final int SEGMENTS = 16;
+    private static final int STAMP_SLOTS = 4096;
+
+    private final List<Segment> segments;
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_SLOTS);
+    private final long ttlNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder sizeEvictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public BoundedTtlCache(int maxSize, long ttl, TimeUnit unit) {
+        if (maxSize < SEGMENTS) {
+            throw new IllegalArgumentException("Cache size must be at least " + SEGMENTS);
+        }
+        this.ttlNanos = unit.toNanos(ttl);
+        int segmentSize = (maxSize + SEGMENTS - 1) / SEGMENTS;
+        List<Segment> created = new ArrayList<>(SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            created.add(new Segment(segmentSize));
+        }
+        this.segments = List.copyOf(created);
+    }
+
+    /**
+     * Returns the cached value, or loads, caches and returns it. The loader runs outside any lock; a loader
+     * exception propagates and nothing is cached.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        int hash = spread(key.hashCode());
+        Segment segment = segments.get(hash & (SEGMENTS - 1));
+        int slot = hash & (STAMP_SLOTS - 1);
+
+        long stamp = stamps.get(slot);
+        V cached = segment.get(key, System.nanoTime());
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            segment.putIfUnchanged(key, loaded, System.nanoTime() + ttlNanos, () -> stamps.get(slot) == stamp);
+        }
+        return loaded;
+    }
+
+    /**
+     * Caches {@code value} for {@code key}, replacing any entry. Like {@link #invalidate}, this prevents
+     * lookups already in flight from storing what they loaded.
+     */
+    public void put(K key, V value) {
+        int hash = spread(key.hashCode());
+        stamps.incrementAndGet(hash & (STAMP_SLOTS - 1));
+        segments.get(hash & (SEGMENTS - 1)).putIfUnchanged(key, value, System.nanoTime() + ttlNanos, () -> true);
+    }
+
+    public void invalidate(K key) {
+        int hash = spread(key.hashCode());
+        stamps.incrementAndGet(hash & (STAMP_SLOTS - 1));
+        segments.get(hash & (SEGMENTS - 1)).remove(key);
+        invalidations.increment();
+    }
+
+    /**
+     * Replaces the cached value of {@code key} with {@code remapping} applied to it, restarting its TTL; a
+     * {@code null} result removes the entry, and absent keys are left absent. Like {@link #invalidate}, this
+     * prevents lookups already in flight from storing what they loaded.
+     */
+    public void update(K key, UnaryOperator<V> remapping) {
+        int hash = spread(key.hashCode());
+        stamps.incrementAndGet(hash & (STAMP_SLOTS - 1));
+        segments.get(hash & (SEGMENTS - 1)).update(key, remapping, System.nanoTime() + ttlNanos);
+    }
+
+    public void invalidateAll(Iterable<? extends K> keys) {
+        keys.forEach(this::invalidate);
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long sizeEvictionCount() {
+        return sizeEvictions.sum();
+    }
+
+    public long expirationCount() {
+        return expirations.sum();
+    }
+
+    public long invalidationCount() {
+        return invalidations.sum();
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final int maxSize;
+        private final LinkedHashMap<K, Entry<V>> entries;
+
+        Segment(int maxSize) {
+            this.maxSize = maxSize;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        }
+
+        V get(K key, long now) {
+            lock.lock();
+            try {
+                Entry<V> entry = entries.get(key);
+                if (entry == null) {
+                    return null;
+                }
+                if (entry.expiresAt() - now <= 0) {
+                    entries.remove(key);
+                    expirations.increment();
+                    return null;
+                }
+                return entry.value();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void putIfUnchanged(K key, V value, long expiresAt, BooleanSupplier unchanged) {
+            lock.lock();
+            try {
+                if (!unchanged.getAsBoolean()) {
+                    return;
+                }
+                entries.put(key, new Entry<>(value, expiresAt));
+                if (entries.size() > maxSize) {
+                    evictEldest();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void evictEldest() {
+            Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+            eldest.next();
+            eldest.remove();
+            sizeEvictions.increment();
+        }
+
+        void update(K key, UnaryOperator<V> remapping, long expiresAt) {
+            lock.lock();
+            try {
+                Entry<V> entry = entries.get(key);
+                if (entry == null) {
+                    return;
+                }
+                V updated = remapping.apply(entry.value());
+                if (updated == null) {
+                    entries.remove(key);
+                } else {
+                    entries.put(key, new Entry<>(updated, expiresAt));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(K key) {
+            lock.lock();
+            try {
+                entries.remove(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.foodorderservice.Foodie.cache;
+
+import com.foodorderservice.Foodie.dtos.OrderResponseDTO;
+import com.foodorderservice.Foodie.dtos.OrderStatusChangedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Caches {@link OrderResponseDTO}s by order id for the polled single-order lookup. Entries are dropped once
+ * a status change commits and expire after the TTL in any case, which bounds staleness for changes made
+ * outside this process. Exposed through actuator as the standard {@code cache.*} meters with
+ * {@code cache=orders}.
+ */
+@Component
+@Slf4j
+public class OrderReadCache {
+
+    private static final String CACHE_NAME = "orders";
+
+    private final BoundedTtlCache<Long, OrderResponseDTO> cache;
+
+    public OrderReadCache(MeterRegistry meterRegistry,
+                          @Value("${order.cache.max-size:10000}") int maxSize,
+                          @Value("${order.cache.ttl-ms:5000}") long ttlMs) {
+        this.cache = new BoundedTtlCache<>(maxSize, ttlMs, TimeUnit.MILLISECONDS);
+        registerMeters(meterRegistry);
+        log.info("Order read cache enabled (max size {}, ttl {} ms)", maxSize, ttlMs);
+    }
+
+    public OrderResponseDTO get(Long orderId, Function<Long, OrderResponseDTO> loader) {
+        return cache.get(orderId, loader);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        cache.invalidateAll(event.orderIds());
+    }
+
+    private void registerMeters(MeterRegistry meterRegistry) {
+        Tags tags = Tags.of("cache", CACHE_NAME);
+        counter(meterRegistry, "cache.gets", tags.and("result", "hit"), BoundedTtlCache::hitCount, "Cache lookups served from memory");
+        counter(meterRegistry, "cache.gets", tags.and("result", "miss"), BoundedTtlCache::missCount, "Cache lookups that went to the database");
+        counter(meterRegistry, "cache.evictions", tags.and("cause", "size"), BoundedTtlCache::sizeEvictionCount, "Entries evicted to stay within the size bound");
+        counter(meterRegistry, "cache.evictions", tags.and("cause", "expired"), BoundedTtlCache::expirationCount, "Entries dropped after the TTL");
+        counter(meterRegistry, "cache.evictions", tags.and("cause", "invalidated"), BoundedTtlCache::invalidationCount, "Entries invalidated by order changes");
+        Gauge.builder("cache.size", cache, BoundedTtlCache::size)
+             .description("Entries currently cached")
+             .tags(tags)
+             .register(meterRegistry);
+    }
+
+    private void counter(MeterRegistry meterRegistry, String name, Tags tags,
+                         ToDoubleFunction<BoundedTtlCache<Long, OrderResponseDTO>> count, String description) {
+        FunctionCounter.builder(name, cache, count)
+                       .description(description)
+                       .tags(tags)
+                       .register(meterRegistry);
+    }
+}
@@ -0,0 +1,66 @@
+package com.foodorderservice.Foodie.cache;
+
+import com.foodorderservice.Foodie.dtos.OrderStatusChangedEvent;
+import com.foodorderservice.Foodie.dtos.OrderStatusResponseDTO;
+import com.foodorderservice.Foodie.entity.enums.OrderStatus;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * In-memory status of recently polled orders for {@code GET /api/orders/{id}/status}. Unlike
+ * {@link OrderReadCache}, entries are not dropped on a status change but moved to the new status once the
+ * change commits, so an order polled while it is processed keeps being answered from memory. An entry is
+ * only moved if it is still in the event's source status, which keeps out-of-order events from rolling a
+ * status back. Meters are the {@code cache.*} family with {@code cache=order-status}.
+ */
+@Component
+public class OrderStatusIndex {
+
+    private static final String CACHE_NAME = "order-status";
+
+    private final BoundedTtlCache<Long, OrderStatusResponseDTO> index;
+
+    public OrderStatusIndex(MeterRegistry meterRegistry,
+                            @Value("${order.cache.status.max-size:100000}") int maxSize,
+                            @Value("${order.cache.status.ttl-ms:10000}") long ttlMs) {
+        this.index = new BoundedTtlCache<>(maxSize, ttlMs, TimeUnit.MILLISECONDS);
+        registerMeters(meterRegistry);
+    }
+
+    public OrderStatusResponseDTO get(Long orderId, Function<Long, OrderStatusResponseDTO> loader) {
+        return index.get(orderId, loader);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        for (Long orderId : event.orderIds()) {
+            index.update(orderId, current -> current.getStatus() == event.from() ? moved(current, event) : null);
+        }
+    }
+
+    private static OrderStatusResponseDTO moved(OrderStatusResponseDTO current, OrderStatusChangedEvent event) {
+        return OrderStatusResponseDTO.builder()
+                                     .orderId(current.getOrderId())
+                                     .status(event.to())
+                                     .orderTime(current.getOrderTime())
+                                     .processedTime(event.to() == OrderStatus.PROCESSED ? event.changedAt() : current.getProcessedTime())
+                                     .build();
+    }
+
+    private void registerMeters(MeterRegistry meterRegistry) {
+        Tags tags = Tags.of("cache", CACHE_NAME);
+        FunctionCounter.builder("cache.gets", index, BoundedTtlCache::hitCount).tags(tags.and("result", "hit")).register(meterRegistry);
+        FunctionCounter.builder("cache.gets", index, BoundedTtlCache::missCount).tags(tags.and("result", "miss")).register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", index, BoundedTtlCache::sizeEvictionCount).tags(tags.and("cause", "size")).register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", index, BoundedTtlCache::expirationCount).tags(tags.and("cause", "expired")).register(meterRegistry);
+        Gauge.builder("cache.size", index, BoundedTtlCache::size).tags(tags).register(meterRegistry);
+    }
+}
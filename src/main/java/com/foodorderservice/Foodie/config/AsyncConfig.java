@@ -1,17 +1,29 @@
 package com.foodorderservice.Foodie.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
 
+/**
+ * Executors for background order work. Setting {@code spring.threads.virtual.enabled=true} on Java 21+
+ * switches the {@code @Async} executor and the order workers to virtual threads (Spring Boot does the
+ * same for Tomcat); on older runtimes the platform-thread beans stay in place.
+ */
 @Configuration
 @EnableAsync
 public class AsyncConfig {
 
     @Bean(name = "taskExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
     public Executor taskExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(2);
@@ -21,4 +33,24 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    @Bean(name = "taskExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualTaskExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("OrderProcessor-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadFactory orderWorkerThreadFactory() {
+        return new CustomizableThreadFactory("OrderWorker-");
+    }
+
+    @Bean(name = "orderWorkerThreadFactory")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ThreadFactory virtualOrderWorkerThreadFactory() {
+        return new VirtualThreadTaskExecutor("OrderWorker-").getVirtualThreadFactory();
+    }
 }
@@ -0,0 +1,271 @@
+package com.foodorderservice.Foodie.config;
+
+import com.foodorderservice.Foodie.entity.enums.OrderLane;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link OrderQueue} with one bounded FIFO per {@link OrderLane}. Consumers always get the order whose lane
+ * head has the earliest deadline, so a burst in one lane fills only that lane and cannot push back orders
+ * promised sooner. To keep a lane from starving behind a steady stream of earlier deadlines, after
+ * {@code starvationLimit} consecutive picks from one lane while another is waiting, the other lane goes next.
+ * <p>
+ * Ids enqueued without a lane go to {@link OrderLane#NORMAL} and are due immediately. Per lane, depth, queue
+ * wait and orders dequeued after their deadline are published as {@code orders.lane.*} meters.
+ */
+public class LanedOrderQueue implements OrderQueue {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    private final Lane[] lanes;
+    private final int starvationLimit;
+    private int size;
+    private int lastLane = -1;
+    private int consecutive;
+
+    public LanedOrderQueue(Map<OrderLane, Integer> capacities, int starvationLimit, MeterRegistry meterRegistry) {
+        OrderLane[] laneTypes = OrderLane.values();
+        this.lanes = new Lane[laneTypes.length];
+        for (OrderLane lane : laneTypes) {
+            lanes[lane.ordinal()] = new Lane(lane, capacities.get(lane), meterRegistry);
+        }
+        this.starvationLimit = starvationLimit;
+    }
+
+    @Override
+    public boolean offer(Long orderId) {
+        return offer(orderId, OrderLane.NORMAL, System.currentTimeMillis());
+    }
+
+    @Override
+    public boolean offer(long orderId, OrderLane lane, long deadline) {
+        lock.lock();
+        try {
+            Lane target = lanes[lane.ordinal()];
+            if (target.isFull()) {
+                return false;
+            }
+            append(target, orderId, deadline);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(Long orderId, long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        Lane target = lanes[OrderLane.NORMAL.ordinal()];
+        lock.lockInterruptibly();
+        try {
+            while (target.isFull()) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            append(target, orderId, System.currentTimeMillis());
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(Long orderId) throws InterruptedException {
+        put(orderId, OrderLane.NORMAL, System.currentTimeMillis());
+    }
+
+    @Override
+    public void put(long orderId, OrderLane lane, long deadline) throws InterruptedException {
+        Lane target = lanes[lane.ordinal()];
+        lock.lockInterruptibly();
+        try {
+            while (target.isFull()) {
+                notFull.await();
+            }
+            append(target, orderId, deadline);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Long take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                notEmpty.await();
+            }
+            return remove();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super Long> target, int maxElements) {
+        lock.lock();
+        try {
+            int drained = 0;
+            while (drained < maxElements && size > 0) {
+                target.add(remove());
+                drained++;
+            }
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        lock.lock();
+        try {
+            int remaining = 0;
+            for (Lane lane : lanes) {
+                remaining += lane.ids.length - lane.count;
+            }
+            return remaining;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity(OrderLane lane) {
+        lock.lock();
+        try {
+            Lane target = lanes[lane.ordinal()];
+            return target.ids.length - target.count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void append(Lane lane, long orderId, long deadline) {
+        if (orderId <= 0) {
+            throw new IllegalArgumentException("Order id must be positive: " + orderId);
+        }
+        lane.add(orderId, deadline, System.nanoTime());
+        size++;
+        notEmpty.signal();
+    }
+
+    private long remove() {
+        int chosen = earliestDeadline(-1);
+        if (chosen == lastLane && consecutive >= starvationLimit) {
+            int other = earliestDeadline(lastLane);
+            if (other >= 0) {
+                chosen = other;
+            }
+        }
+        if (chosen == lastLane) {
+            consecutive++;
+        } else {
+            lastLane = chosen;
+            consecutive = 1;
+        }
+
+        long orderId = lanes[chosen].remove(System.currentTimeMillis(), System.nanoTime());
+        size--;
+        notFull.signalAll();
+        return orderId;
+    }
+
+    /**
+     * @return the non-empty lane whose head has the earliest deadline, ignoring {@code excluded}, or -1
+     */
+    private int earliestDeadline(int excluded) {
+        int earliest = -1;
+        for (int i = 0; i < lanes.length; i++) {
+            if (i != excluded && lanes[i].count > 0
+                    && (earliest < 0 || lanes[i].headDeadline() < lanes[earliest].headDeadline())) {
+                earliest = i;
+            }
+        }
+        return earliest;
+    }
+
+    /**
+     * Ring of order ids with their deadlines and enqueue times; guarded by the queue lock.
+     */
+    private static final class Lane {
+        private final long[] ids;
+        private final long[] deadlines;
+        private final long[] enqueuedAt;
+        private int head;
+        private int count;
+
+        private final Timer wait;
+        private final Counter late;
+
+        Lane(OrderLane lane, int capacity, MeterRegistry meterRegistry) {
+            this.ids = new long[capacity];
+            this.deadlines = new long[capacity];
+            this.enqueuedAt = new long[capacity];
+            String tag = lane.name().toLowerCase(Locale.ROOT);
+            this.wait = Timer.builder("orders.lane.wait")
+                             .description("Time an order waited in its scheduling lane")
+                             .tag("lane", tag)
+                             .publishPercentileHistogram()
+                             .register(meterRegistry);
+            this.late = Counter.builder("orders.lane.late")
+                               .description("Orders dequeued after their deadline")
+                               .tag("lane", tag)
+                               .register(meterRegistry);
+            Gauge.builder("orders.lane.depth", this, l -> l.count)
+                 .description("Orders waiting in the scheduling lane")
+                 .tag("lane", tag)
+                 .register(meterRegistry);
+        }
+
+        boolean isFull() {
+            return count == ids.length;
+        }
+
+        long headDeadline() {
+            return deadlines[head];
+        }
+
+        void add(long orderId, long deadline, long now) {
+            int tail = (head + count) % ids.length;
+            ids[tail] = orderId;
+            deadlines[tail] = deadline;
+            enqueuedAt[tail] = now;
+            count++;
+        }
+
+        long remove(long nowMillis, long nowNanos) {
+            long orderId = ids[head];
+            wait.record(nowNanos - enqueuedAt[head], TimeUnit.NANOSECONDS);
+            if (nowMillis > deadlines[head]) {
+                late.increment();
+            }
+            head = (head + 1) % ids.length;
+            count--;
+            return orderId;
+        }
+    }
+}
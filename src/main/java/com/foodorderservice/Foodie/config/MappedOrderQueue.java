@@ -0,0 +1,275 @@
+package com.foodorderservice.Foodie.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Persistent {@link OrderQueue}: an append-only log of 8-byte order ids split into fixed-size, memory-mapped
+ * segment files, plus a mapped checkpoint holding the consumer position. Enqueue and dequeue are plain
+ * memory writes, and the operating system writes the pages back, so the backlog survives a process restart
+ * (but not a power loss of unflushed pages).
+ * <p>
+ * The checkpoint advances when an id is taken, not when its order has been processed, so ids taken but not
+ * yet processed when the process dies are not replayed from here. The outbox covers them: an order's outbox
+ * row stays until its processing begins and is handed out again once its lease expires. This queue only
+ * spares the restarted node from waiting for those leases for the backlog it had not taken yet.
+ * <p>
+ * A mapped file cannot be unmapped explicitly before Java 22's {@code Arena}-backed mappings, and deleting it
+ * while still mapped keeps its disk space and address range in use until the buffer happens to be collected.
+ * Fully consumed segments are therefore zeroed and renamed to become the next segment instead of being
+ * deleted, so the number of segment files stays bounded by the capacity. Segments left behind by a previous
+ * process are deleted on startup, before they are mapped.
+ * <p>
+ * A slot value of 0 marks the end of the log, which is why order ids must be positive.
+ */
+@Slf4j
+public class MappedOrderQueue implements OrderQueue, AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".q";
+    private static final String CHECKPOINT_FILE = "consumer.ckpt";
+
+    private final Path directory;
+    private final int capacity;
+    private final int segmentSlots;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    private final TreeMap<Long, MappedByteBuffer> segments = new TreeMap<>();
+    /** Consumed segments, still mapped under their old base, waiting to be reused. */
+    private final ArrayDeque<Spare> spares = new ArrayDeque<>();
+    private final MappedByteBuffer checkpoint;
+    private long writeSequence;
+    private long readSequence;
+
+    public MappedOrderQueue(Path directory, int capacity, int segmentSlots) throws IOException {
+        this.directory = directory;
+        this.capacity = capacity;
+        this.segmentSlots = segmentSlots;
+        Files.createDirectories(directory);
+
+        this.checkpoint = map(directory.resolve(CHECKPOINT_FILE), Long.BYTES);
+        recover();
+    }
+
+    private void recover() throws IOException {
+        List<Long> bases = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                 .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                 .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                 .sorted()
+                 .forEach(bases::add);
+        }
+
+        readSequence = checkpoint.getLong(0);
+        writeSequence = readSequence;
+        for (Long base : bases) {
+            if (base + segmentSlots <= readSequence) {
+                Files.deleteIfExists(segmentPath(base));
+                continue;
+            }
+            MappedByteBuffer segment = map(segmentPath(base), (long) segmentSlots * Long.BYTES);
+            segments.put(base, segment);
+            int slot = 0;
+            while (slot < segmentSlots && segment.getLong(slot * Long.BYTES) != 0) {
+                slot++;
+            }
+            writeSequence = Math.max(writeSequence, base + slot);
+        }
+        if (!segments.isEmpty() && readSequence < segments.firstKey()) {
+            readSequence = segments.firstKey();
+        }
+        log.info("Mapped order queue opened at {} with {} pending orders", directory, writeSequence - readSequence);
+    }
+
+    @Override
+    public boolean offer(Long orderId) {
+        lock.lock();
+        try {
+            if (writeSequence - readSequence >= capacity) {
+                return false;
+            }
+            append(orderId);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(Long orderId, long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (writeSequence - readSequence >= capacity) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            append(orderId);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(Long orderId) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (writeSequence - readSequence >= capacity) {
+                notFull.await();
+            }
+            append(orderId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Long take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (writeSequence == readSequence) {
+                notEmpty.await();
+            }
+            return remove();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super Long> target, int maxElements) {
+        lock.lock();
+        try {
+            int drained = 0;
+            while (drained < maxElements && writeSequence > readSequence) {
+                target.add(remove());
+                drained++;
+            }
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return (int) (writeSequence - readSequence);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    private void append(Long orderId) {
+        if (orderId == null || orderId <= 0) {
+            throw new IllegalArgumentException("Order id must be positive: " + orderId);
+        }
+        segmentFor(writeSequence, true).putLong(slotOffset(writeSequence), orderId);
+        writeSequence++;
+        notEmpty.signal();
+    }
+
+    private Long remove() {
+        long orderId = segmentFor(readSequence, false).getLong(slotOffset(readSequence));
+        readSequence++;
+        checkpoint.putLong(0, readSequence);
+        if (readSequence % segmentSlots == 0) {
+            releaseSegment(readSequence - segmentSlots);
+        }
+        notFull.signal();
+        return orderId;
+    }
+
+    private MappedByteBuffer segmentFor(long sequence, boolean create) {
+        long base = sequence - sequence % segmentSlots;
+        MappedByteBuffer segment = segments.get(base);
+        if (segment == null) {
+            if (!create) {
+                throw new IllegalStateException("Missing queue segment for sequence " + sequence);
+            }
+            try {
+                segment = spares.isEmpty() ? map(segmentPath(base), (long) segmentSlots * Long.BYTES) : reuse(spares.poll(), base);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not create queue segment " + segmentPath(base), e);
+            }
+            segments.put(base, segment);
+        }
+        return segment;
+    }
+
+    private void releaseSegment(long base) {
+        spares.add(new Spare(base, segments.remove(base)));
+    }
+
+    /**
+     * Clears a consumed segment and renames it to {@code base}. Cleared first, so a crash in between leaves
+     * either an empty segment or a consumed one, which the next start deletes.
+     */
+    private MappedByteBuffer reuse(Spare spare, long base) throws IOException {
+        for (int slot = 0; slot < segmentSlots; slot++) {
+            spare.buffer().putLong(slot * Long.BYTES, 0);
+        }
+        Files.move(segmentPath(spare.base()), segmentPath(base), StandardCopyOption.ATOMIC_MOVE);
+        return spare.buffer();
+    }
+
+    private record Spare(long base, MappedByteBuffer buffer) {
+    }
+
+    private int slotOffset(long sequence) {
+        return (int) (sequence % segmentSlots) * Long.BYTES;
+    }
+
+    private Path segmentPath(long base) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, base, SEGMENT_SUFFIX));
+    }
+
+    private static MappedByteBuffer map(Path path, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    /**
+     * Flushes mapped pages to disk. Mappings are released when the buffers are garbage collected.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            segments.values().forEach(MappedByteBuffer::force);
+            checkpoint.force();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
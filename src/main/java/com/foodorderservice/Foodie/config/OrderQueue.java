@@ -0,0 +1,57 @@
+package com.foodorderservice.Foodie.config;
+
+import com.foodorderservice.Foodie.entity.enums.OrderLane;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded FIFO of order ids waiting to be processed. Implementations are selected with {@code queue.type}.
+ */
+public interface OrderQueue {
+
+    boolean offer(Long orderId);
+
+    /**
+     * Enqueues the order in {@code lane}, to be processed by {@code deadline} (epoch millis), if there is room
+     * right now. Queues without lanes ignore both and keep FIFO order.
+     */
+    default boolean offer(long orderId, OrderLane lane, long deadline) {
+        return offer(orderId);
+    }
+
+    boolean offer(Long orderId, long timeout, TimeUnit unit) throws InterruptedException;
+
+    void put(Long orderId) throws InterruptedException;
+
+    /**
+     * Enqueues the order in {@code lane}, to be processed by {@code deadline} (epoch millis), waiting as long as
+     * it takes for the lane to have room. Queues without lanes ignore both and keep FIFO order.
+     */
+    default void put(long orderId, OrderLane lane, long deadline) throws InterruptedException {
+        put(orderId);
+    }
+
+    Long take() throws InterruptedException;
+
+    /**
+     * Moves up to {@code maxElements} available ids into {@code target} without waiting.
+     *
+     * @return the number of ids moved
+     */
+    int drainTo(Collection<? super Long> target, int maxElements);
+
+    int size();
+
+    /**
+     * @return how many more ids fit right now
+     */
+    int remainingCapacity();
+
+    /**
+     * @return how many more ids fit into {@code lane} right now; queues without lanes share one capacity
+     */
+    default int remainingCapacity(OrderLane lane) {
+        return remainingCapacity();
+    }
+}
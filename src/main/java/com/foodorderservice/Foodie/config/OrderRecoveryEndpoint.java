@@ -0,0 +1,24 @@
+package com.foodorderservice.Foodie.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Exposes the progress of the last order recovery run at {@code /actuator/orderrecovery}.
+ */
+@Component
+@Endpoint(id = "orderrecovery")
+@RequiredArgsConstructor
+public class OrderRecoveryEndpoint {
+
+    private final OrderRecoveryJob recoveryJob;
+
+    @ReadOperation
+    public Map<String, Object> progress() {
+        return recoveryJob.progress();
+    }
+}
@@ -0,0 +1,221 @@
+package com.foodorderservice.Foodie.config;
+
+import com.foodorderservice.Foodie.dtos.OrderPartitionsAcquiredEvent;
+import com.foodorderservice.Foodie.entity.Order;
+import com.foodorderservice.Foodie.entity.enums.OrderLane;
+import com.foodorderservice.Foodie.entity.enums.OrderStatus;
+import com.foodorderservice.Foodie.repository.OrderRepository;
+import com.foodorderservice.Foodie.service.impl.OrderLanePolicy;
+import com.foodorderservice.Foodie.service.impl.OrderPartitionLeases;
+import com.foodorderservice.Foodie.service.impl.OrderServiceImpl;
+import com.foodorderservice.Foodie.service.impl.QueueService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Puts orders that fell out of the pipeline back on the processing queue: PENDING orders without an
+ * outbox entry, and orders stuck in PROCESSING longer than the stuck timeout (whose completion timer was
+ * lost, e.g. in a restart), which are reset to PENDING first. Orders are scanned by id in keyset-ordered
+ * chunks, and each order goes back into its scheduling lane with its deadline, as decided by
+ * {@link OrderLanePolicy}; enqueueing blocks while that lane is full. Only orders in the partitions this node
+ * owns are recovered; partitions acquired later, e.g. from a stopped node, are recovered then.
+ */
+@Component
+@Slf4j
+public class OrderRecoveryJob {
+
+    private final OrderRepository orderRepository;
+    private final QueueService queueService;
+    private final OrderServiceImpl orderServiceImpl;
+    private final OrderPartitionLeases partitionLeases;
+    private final OrderLanePolicy lanePolicy;
+    private final Counter pendingRequeued;
+    private final Counter stuckReclaimed;
+
+    private final ReentrantLock runLock = new ReentrantLock();
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong requeued = new AtomicLong();
+    private volatile String state = "IDLE";
+    private volatile OrderStatus currentStatus;
+    private volatile long lastId;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    @Value("${order.recovery.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${order.recovery.stuck-timeout-ms:600000}")
+    private long stuckTimeoutMs;
+
+    public OrderRecoveryJob(OrderRepository orderRepository, QueueService queueService, OrderServiceImpl orderServiceImpl,
+                            OrderPartitionLeases partitionLeases, OrderLanePolicy lanePolicy, MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.queueService = queueService;
+        this.orderServiceImpl = orderServiceImpl;
+        this.partitionLeases = partitionLeases;
+        this.lanePolicy = lanePolicy;
+        this.pendingRequeued = Counter.builder("orders.recovery.requeued")
+                                      .description("Orders put back on the processing queue by recovery")
+                                      .tag("source", "pending")
+                                      .register(meterRegistry);
+        this.stuckReclaimed = Counter.builder("orders.recovery.requeued")
+                                     .description("Orders put back on the processing queue by recovery")
+                                     .tag("source", "stuck-processing")
+                                     .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Async
+    public void recoverOnStartup() {
+        run(true);
+    }
+
+    /**
+     * Waits for a run in progress instead of skipping, since that run may have scanned before the partitions
+     * were acquired.
+     */
+    @EventListener
+    @Async
+    public void recoverAcquiredPartitions(OrderPartitionsAcquiredEvent event) {
+        log.info("Recovering orders of acquired partitions {}", event.partitions());
+        runLock.lock();
+        try {
+            run(true);
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${order.recovery.stuck-scan-interval-ms:300000}",
+            fixedDelayString = "${order.recovery.stuck-scan-interval-ms:300000}")
+    public void reclaimStuckOrders() {
+        run(false);
+    }
+
+    private void run(boolean includePending) {
+        if (!runLock.tryLock()) {
+            log.debug("Order recovery already running, skipping");
+            return;
+        }
+        try {
+            scanned.set(0);
+            requeued.set(0);
+            startedAt = Instant.now();
+            finishedAt = null;
+            state = "RUNNING";
+
+            if (includePending) {
+                recoverPending();
+            }
+            reclaimStuckProcessing();
+
+            state = "COMPLETED";
+            log.info("Order recovery finished: {} scanned, {} requeued", scanned.get(), requeued.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            state = "INTERRUPTED";
+        } catch (Exception e) {
+            state = "FAILED";
+            log.error("Order recovery failed after order {}", lastId, e);
+        } finally {
+            finishedAt = Instant.now();
+            runLock.unlock();
+        }
+    }
+
+    private void recoverPending() throws InterruptedException {
+        currentStatus = OrderStatus.PENDING;
+        lastId = 0;
+        List<Long> chunk;
+        do {
+            List<Integer> partitions = partitionLeases.ownedPartitions();
+            if (partitions.isEmpty()) {
+                return;
+            }
+            chunk = orderRepository.findUnqueuedIdsByStatusAfter(OrderStatus.PENDING, lastId, partitionLeases.partitionCount(),
+                    partitions, PageRequest.ofSize(chunkSize));
+            requeue(chunk, pendingRequeued);
+        } while (chunk.size() == chunkSize);
+    }
+
+    private void reclaimStuckProcessing() throws InterruptedException {
+        currentStatus = OrderStatus.PROCESSING;
+        lastId = 0;
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(stuckTimeoutMs * 1_000_000);
+        List<Long> chunk;
+        do {
+            List<Integer> partitions = partitionLeases.ownedPartitions();
+            if (partitions.isEmpty()) {
+                return;
+            }
+            chunk = orderRepository.findIdsByStatusUpdatedBefore(OrderStatus.PROCESSING, cutoff, lastId,
+                    partitionLeases.partitionCount(), partitions, PageRequest.ofSize(chunkSize));
+            if (!chunk.isEmpty()) {
+                List<Long> reset = orderServiceImpl.resetStuckProcessing(chunk, cutoff);
+                log.warn("Reset {} orders stuck in PROCESSING since before {}", reset.size(), cutoff);
+                requeue(reset, stuckReclaimed);
+                lastId = chunk.get(chunk.size() - 1);
+            }
+        } while (chunk.size() == chunkSize);
+    }
+
+    private void requeue(List<Long> orderIds, Counter counter) throws InterruptedException {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        // The lane depends on the items, the deadline on the order time.
+        Map<Long, Order> ordersById = orderRepository.findAllWithItemsByIdIn(orderIds).stream()
+                                                     .collect(Collectors.toMap(Order::getId, Function.identity()));
+        for (Long orderId : orderIds) {
+            Order order = ordersById.get(orderId);
+            if (order != null) {
+                OrderLane lane = lanePolicy.laneFor(order);
+                long deadline = lanePolicy.deadlineFor(order, lane).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                queueService.putOrder(orderId, lane, deadline);
+                requeued.incrementAndGet();
+                counter.increment();
+            }
+            lastId = orderId;
+        }
+        scanned.addAndGet(orderIds.size());
+    }
+
+    public Map<String, Object> progress() {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("state", state);
+        progress.put("phase", currentStatus);
+        progress.put("lastOrderId", lastId);
+        progress.put("scanned", scanned.get());
+        progress.put("requeued", requeued.get());
+        progress.put("startedAt", startedAt);
+        progress.put("finishedAt", finishedAt);
+
+        Instant start = startedAt;
+        if (start != null) {
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            long millis = Math.max(1, Duration.between(start, end).toMillis());
+            progress.put("requeuedPerSecond", requeued.get() * 1000.0 / millis);
+        }
+        return progress;
+    }
+}
@@ -1,9 +1,17 @@
 package com.foodorderservice.Foodie.config;
 
+import com.foodorderservice.Foodie.entity.enums.OrderLane;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
@@ -15,17 +23,46 @@ public class QueueConfig {
     private int queueCapacity;
 
     @Bean
-    public InMemoryQueue orderQueue() {
+    @ConditionalOnProperty(name = "queue.type", havingValue = "heap", matchIfMissing = true)
+    public OrderQueue orderQueue() {
         return new InMemoryQueue(queueCapacity);
     }
 
-    public static class InMemoryQueue {
+    @Bean
+    @ConditionalOnProperty(name = "queue.type", havingValue = "mmap")
+    public OrderQueue mappedOrderQueue(@Value("${queue.mmap.directory:data/queue}") String directory,
+                                       @Value("${queue.mmap.segment-slots:1048576}") int segmentSlots) throws IOException {
+        return new MappedOrderQueue(Path.of(directory), queueCapacity, segmentSlots);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "queue.type", havingValue = "ring")
+    public OrderQueue ringBufferOrderQueue(@Value("${queue.ring.wait-strategy:blocking}") RingBufferOrderQueue.WaitStrategy waitStrategy) {
+        return new RingBufferOrderQueue(queueCapacity, waitStrategy);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "queue.type", havingValue = "lanes")
+    public OrderQueue lanedOrderQueue(@Value("${queue.lanes.bulk-capacity:1000}") int bulkCapacity,
+                                      @Value("${queue.lanes.starvation-limit:8}") int starvationLimit,
+                                      MeterRegistry meterRegistry) {
+        Map<OrderLane, Integer> capacities = new EnumMap<>(OrderLane.class);
+        capacities.put(OrderLane.NORMAL, queueCapacity);
+        capacities.put(OrderLane.BULK, bulkCapacity);
+        return new LanedOrderQueue(capacities, starvationLimit, meterRegistry);
+    }
+
+    public static class InMemoryQueue implements OrderQueue {
         private final BlockingQueue<Long> queue;
 
         public InMemoryQueue(int capacity) {
             this.queue = new LinkedBlockingQueue<>(capacity);
         }
 
+        public boolean offer(Long orderId) {
+            return queue.offer(orderId);
+        }
+
         public boolean offer(Long orderId, long timeout, TimeUnit unit) throws InterruptedException {
             return queue.offer(orderId, timeout, unit);
         }
@@ -38,5 +75,17 @@ public class QueueConfig {
             return queue.take();
         }
 
+        public int drainTo(Collection<? super Long> target, int maxElements) {
+            return queue.drainTo(target, maxElements);
+        }
+
+        public int size() {
+            return queue.size();
+        }
+
+        public int remainingCapacity() {
+            return queue.remainingCapacity();
+        }
+
     }
 }
@@ -0,0 +1,278 @@
+package com.foodorderservice.Foodie.config;
+
+import java.lang.invoke.VarHandle;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Lock-free bounded {@link OrderQueue}: a pre-allocated ring of primitive {@code long} slots, each paired with
+ * a sequence number. Producers claim a position by CAS on the tail and publish the id by advancing the slot's
+ * sequence; consumers claim by CAS on the head, and {@link #drainTo(long[], int)} claims a whole run of
+ * published slots with one CAS. Nothing is allocated per id and no lock is taken on the fast path.
+ * <p>
+ * The {@link WaitStrategy} only decides what a thread does while the queue is empty (consumers) or full
+ * (producers). The capacity is rounded up to a power of two, and order ids must be positive.
+ */
+public class RingBufferOrderQueue implements OrderQueue {
+
+    public enum WaitStrategy {
+        /**
+         * Parks on a condition; producers and consumers only take the lock when someone is parked.
+         */
+        BLOCKING,
+        /**
+         * Retries after {@link Thread#yield()}: low latency, burns CPU only while others are runnable.
+         */
+        YIELDING,
+        /**
+         * Retries after {@link Thread#onSpinWait()}: lowest latency, occupies a core while waiting.
+         */
+        BUSY_SPIN
+    }
+
+    private static final long EMPTY = 0;
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private final long[] values;
+    private final AtomicLongArray sequences;
+    private final int slots;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final AtomicInteger waitingConsumers = new AtomicInteger();
+    private final AtomicInteger waitingProducers = new AtomicInteger();
+
+    public RingBufferOrderQueue(int capacity, WaitStrategy waitStrategy) {
+        if (capacity < 2 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Ring capacity must be between 2 and 2^30: " + capacity);
+        }
+        this.slots = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = slots - 1;
+        this.values = new long[slots];
+        this.sequences = new AtomicLongArray(slots);
+        for (int i = 0; i < slots; i++) {
+            sequences.set(i, i);
+        }
+        this.waitStrategy = waitStrategy;
+    }
+
+    @Override
+    public boolean offer(Long orderId) {
+        if (tryOffer(checked(orderId))) {
+            signal(notEmpty, waitingConsumers);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean offer(Long orderId, long timeout, TimeUnit unit) throws InterruptedException {
+        return offer(checked(orderId), System.nanoTime() + unit.toNanos(timeout));
+    }
+
+    @Override
+    public void put(Long orderId) throws InterruptedException {
+        offer(checked(orderId), NO_DEADLINE);
+    }
+
+    private boolean offer(long orderId, long deadline) throws InterruptedException {
+        while (!tryOffer(orderId)) {
+            if (!pause(notFull, waitingProducers, this::hasFreeSlot, deadline)) {
+                return false;
+            }
+        }
+        signal(notEmpty, waitingConsumers);
+        return true;
+    }
+
+    @Override
+    public Long take() throws InterruptedException {
+        long orderId;
+        while ((orderId = tryPoll()) == EMPTY) {
+            pause(notEmpty, waitingConsumers, this::hasPublished, NO_DEADLINE);
+        }
+        signal(notFull, waitingProducers);
+        return orderId;
+    }
+
+    @Override
+    public int drainTo(Collection<? super Long> target, int maxElements) {
+        long[] batch = new long[Math.max(0, Math.min(maxElements, slots))];
+        int drained = drainTo(batch, batch.length);
+        for (int i = 0; i < drained; i++) {
+            target.add(batch[i]);
+        }
+        return drained;
+    }
+
+    /**
+     * Moves up to {@code maxElements} published ids into {@code target}, starting at index 0, without
+     * waiting or boxing. The run is claimed with a single CAS.
+     *
+     * @return the number of ids moved
+     */
+    public int drainTo(long[] target, int maxElements) {
+        int max = Math.min(maxElements, target.length);
+        while (max > 0) {
+            long position = head.get();
+            int available = 0;
+            while (available < max && sequences.getAcquire(index(position + available)) == position + available + 1) {
+                available++;
+            }
+            if (available == 0) {
+                return 0;
+            }
+            if (head.compareAndSet(position, position + available)) {
+                for (int i = 0; i < available; i++) {
+                    int index = index(position + i);
+                    target[i] = values[index];
+                    sequences.setRelease(index, position + i + slots);
+                }
+                signal(notFull, waitingProducers);
+                return available;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, slots));
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return slots - size();
+    }
+
+    private boolean tryOffer(long orderId) {
+        long position = tail.get();
+        while (true) {
+            int index = index(position);
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    values[index] = orderId;
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    private long tryPoll() {
+        long position = head.get();
+        while (true) {
+            int index = index(position);
+            long difference = sequences.getAcquire(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    long orderId = values[index];
+                    sequences.setRelease(index, position + slots);
+                    return orderId;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return EMPTY;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    private boolean hasPublished() {
+        long position = head.get();
+        return sequences.getAcquire(index(position)) == position + 1;
+    }
+
+    private boolean hasFreeSlot() {
+        long position = tail.get();
+        return sequences.getAcquire(index(position)) == position;
+    }
+
+    /**
+     * Waits once according to the strategy.
+     *
+     * @return false if the deadline has passed
+     */
+    private boolean pause(Condition condition, AtomicInteger waiters, BooleanSupplier ready, long deadline)
+            throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        long remaining = deadline == NO_DEADLINE ? NO_DEADLINE : deadline - System.nanoTime();
+        if (remaining <= 0) {
+            return false;
+        }
+        switch (waitStrategy) {
+            case BUSY_SPIN -> Thread.onSpinWait();
+            case YIELDING -> Thread.yield();
+            case BLOCKING -> {
+                lock.lockInterruptibly();
+                try {
+                    // Registering before the re-check pairs with the fence in signal(): either the other side
+                    // sees this waiter, or the re-check sees its slot.
+                    waiters.incrementAndGet();
+                    try {
+                        if (!ready.getAsBoolean()) {
+                            if (remaining == NO_DEADLINE) {
+                                condition.await();
+                            } else {
+                                condition.awaitNanos(remaining);
+                            }
+                        }
+                    } finally {
+                        waiters.decrementAndGet();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+        return true;
+    }
+
+    private void signal(Condition condition, AtomicInteger waiters) {
+        if (waitStrategy != WaitStrategy.BLOCKING) {
+            return;
+        }
+        VarHandle.fullFence();
+        if (waiters.get() > 0) {
+            lock.lock();
+            try {
+                condition.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private int index(long position) {
+        return (int) (position & mask);
+    }
+
+    private static long checked(Long orderId) {
+        if (orderId == null || orderId <= 0) {
+            throw new IllegalArgumentException("Order id must be positive: " + orderId);
+        }
+        return orderId;
+    }
+}
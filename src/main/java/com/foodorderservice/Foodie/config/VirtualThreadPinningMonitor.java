@@ -0,0 +1,84 @@
+package com.foodorderservice.Foodie.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event while virtual threads are enabled, so a carrier
+ * thread blocked inside a {@code synchronized} block or native frame (typically a JDBC driver call) shows
+ * up in the logs and in the {@code jvm.threads.virtual.pinned} counter.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@RequiredArgsConstructor
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${order.virtual-threads.pinning-threshold-ms:20}")
+    private long pinningThresholdMs;
+
+    private RecordingStream recordingStream;
+    private Counter pinnedCounter;
+
+    @PostConstruct
+    public void start() {
+        pinnedCounter = Counter.builder("jvm.threads.virtual.pinned")
+                               .description("Virtual threads pinned to their carrier longer than the threshold")
+                               .register(meterRegistry);
+
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT)
+                       .withThreshold(Duration.ofMillis(pinningThresholdMs))
+                       .withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        log.info("Virtual thread pinning monitor started (threshold {} ms)", pinningThresholdMs);
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCounter.increment();
+        log.warn("Virtual thread pinned for {} ms:\n{}", event.getDuration().toMillis(), topFrames(event.getStackTrace()));
+    }
+
+    private String topFrames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\t(no stack trace)";
+        }
+        return stackTrace.getFrames().stream()
+                         .limit(LOGGED_FRAMES)
+                         .map(this::formatFrame)
+                         .collect(Collectors.joining("\n"));
+    }
+
+    private String formatFrame(RecordedFrame frame) {
+        return "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + " line " + frame.getLineNumber();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+}
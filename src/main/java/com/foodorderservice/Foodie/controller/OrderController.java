@@ -2,20 +2,37 @@ package com.foodorderservice.Foodie.controller;
 
 import com.foodorderservice.Foodie.advices.ApiResponseWrapper;
 import com.foodorderservice.Foodie.dtos.*;
+import com.foodorderservice.Foodie.entity.enums.OrderStatus;
 import com.foodorderservice.Foodie.service.OrderService;
+import com.foodorderservice.Foodie.service.impl.OrderAdmissionControl;
+import com.foodorderservice.Foodie.service.impl.OrderIdempotencyService;
+import com.foodorderservice.Foodie.service.impl.OrderExportService;
+import com.foodorderservice.Foodie.service.impl.OrderStatsStore;
+import com.foodorderservice.Foodie.service.impl.OrderStatusStreamRegistry;
+import com.foodorderservice.Foodie.service.impl.OrderWorkerPool;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -26,13 +43,27 @@ import java.time.LocalDateTime;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderWorkerPool workerPool;
+    private final OrderStatusStreamRegistry statusStreams;
+    private final OrderExportService orderExportService;
+    private final OrderStatsStore orderStatsStore;
+    private final OrderAdmissionControl admissionControl;
+    private final OrderIdempotencyService idempotencyService;
 
     @PostMapping    @Operation(summary = "Create a new order", description = "Creates a new food delivery order")
     public ResponseEntity<ApiResponseWrapper<OrderResponseDTO>> createOrder(
-            @Valid @RequestBody OrderRequestDTO orderRequest) {
+            @Valid @RequestBody OrderRequestDTO orderRequest,
+            @Parameter(description = "Client-chosen key; retries with the same key return the first response instead of creating another order")
+            @RequestHeader(value = "Idempotency-Key", required = false) @Size(min = 1, max = 100) String idempotencyKey) {
         log.info("Received order creation request for customer: {}", orderRequest.getCustomerName());
 
-        OrderResponseDTO createdOrder = orderService.createOrder(orderRequest);
+        OrderResponseDTO createdOrder;
+        if (idempotencyKey != null) {
+            createdOrder = idempotencyService.createOrder(idempotencyKey, orderRequest);
+        } else {
+            admissionControl.admit();
+            createdOrder = orderService.createOrder(orderRequest);
+        }
 
         ApiResponseWrapper<OrderResponseDTO> wrapper = ApiResponseWrapper.<OrderResponseDTO>builder()
                                                                          .success(true)
@@ -43,6 +74,24 @@ public class OrderController {
         return ResponseEntity.ok(wrapper);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create orders in bulk", description = "Creates up to order.batch.max-size orders in one request, reporting a result per order")
+    public ResponseEntity<ApiResponseWrapper<BatchOrderResponseDTO>> createOrders(
+            @RequestBody List<OrderRequestDTO> orderRequests) {
+        log.info("Received batch order creation request with {} orders", orderRequests.size());
+        admissionControl.admit();
+
+        BatchOrderResponseDTO result = orderService.createOrders(orderRequests);
+
+        return ResponseEntity.ok(ApiResponseWrapper.<BatchOrderResponseDTO>builder()
+                                                   .success(result.getRejected() == 0)
+                                                   .message(String.format("Batch processed: %d created, %d rejected",
+                                                           result.getCreated(), result.getRejected()))
+                                                   .data(result)
+                                                   .timeStamp(LocalDateTime.now())
+                                                   .build());
+    }
+
     @GetMapping
     @Operation(summary = "Get all orders", description = "Retrieves all orders with pagination support")
     public ResponseEntity<ApiResponseWrapper<PageResponseDTO<OrderResponseDTO>>> getAllOrders(
@@ -71,6 +120,107 @@ public class OrderController {
                                                    .build());
     }
 
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Get orders by cursor",
+            description = "Keyset pagination over (orderTime, id); pass an empty cursor for the first page and nextCursor afterwards")
+    public ResponseEntity<ApiResponseWrapper<CursorPageResponseDTO<OrderResponseDTO>>> getOrdersByCursor(
+            @Parameter(description = "Opaque cursor from the previous page, empty for the first page")
+            @RequestParam String cursor,
+            @Parameter(description = "Page size, at most 500")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sort direction on orderTime (ASC/DESC), taken from the cursor after the first page")
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @Parameter(description = "Total count: NONE, APPROXIMATE (table statistics) or EXACT")
+            @RequestParam(defaultValue = "NONE") CursorPageResponseDTO.CountMode count) {
+
+        log.info("Fetching orders by cursor - size: {}, direction: {}, count: {}", size, sortDirection, count);
+
+        CursorPageResponseDTO<OrderResponseDTO> orders = orderService.getOrdersByCursor(
+                cursor, size, Sort.Direction.fromString(sortDirection), count);
+
+        return ResponseEntity.ok(ApiResponseWrapper.<CursorPageResponseDTO<OrderResponseDTO>>builder()
+                                                   .success(true)
+                                                   .message("Orders retrieved successfully")
+                                                   .data(orders)
+                                                   .timeStamp(LocalDateTime.now())
+                                                   .build());
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search orders",
+            description = "Filters by status set, customer name prefix, order time range and amount range; keyset-paginated on (orderTime, id)")
+    public ResponseEntity<ApiResponseWrapper<CursorPageResponseDTO<OrderResponseDTO>>> searchOrders(
+            @Parameter(description = "Statuses to include, comma separated")
+            @RequestParam(required = false) Set<OrderStatus> status,
+            @Parameter(description = "Customer name prefix")
+            @RequestParam(required = false) String customer,
+            @Parameter(description = "Earliest order time, inclusive (ISO date-time)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Latest order time, exclusive (ISO date-time)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Minimum total amount, inclusive")
+            @RequestParam(required = false) BigDecimal minAmount,
+            @Parameter(description = "Maximum total amount, inclusive")
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @Parameter(description = "Opaque cursor from the previous page, omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 500")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sort direction on orderTime (ASC/DESC), taken from the cursor after the first page")
+            @RequestParam(defaultValue = "DESC") String sortDirection) {
+
+        OrderSearchCriteria criteria = OrderSearchCriteria.builder()
+                                                          .statuses(status)
+                                                          .customerNamePrefix(customer)
+                                                          .from(from)
+                                                          .to(to)
+                                                          .minAmount(minAmount)
+                                                          .maxAmount(maxAmount)
+                                                          .build();
+
+        CursorPageResponseDTO<OrderResponseDTO> orders = orderService.searchOrders(
+                criteria, cursor, size, Sort.Direction.fromString(sortDirection));
+
+        return ResponseEntity.ok(ApiResponseWrapper.<CursorPageResponseDTO<OrderResponseDTO>>builder()
+                                                   .success(true)
+                                                   .message("Orders retrieved successfully")
+                                                   .data(orders)
+                                                   .timeStamp(LocalDateTime.now())
+                                                   .build());
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get order statistics",
+            description = "Order counts per status and orders and revenue per hour, served from memory")
+    public ResponseEntity<ApiResponseWrapper<OrderStatsDTO>> getOrderStats() {
+        return ResponseEntity.ok(ApiResponseWrapper.<OrderStatsDTO>builder()
+                                                   .success(true)
+                                                   .message("Order statistics retrieved successfully")
+                                                   .data(orderStatsStore.stats())
+                                                   .timeStamp(LocalDateTime.now())
+                                                   .build());
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export orders",
+            description = "Streams all orders placed in [from, to) with their items as NDJSON (one order per line) or CSV (one item per line)")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @Parameter(description = "NDJSON or CSV")
+            @RequestParam(defaultValue = "NDJSON") OrderExportService.Format format,
+            @Parameter(description = "Earliest order time, inclusive (ISO date-time)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Latest order time, exclusive (ISO date-time)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Exporting orders as {} from {} to {}", format, from, to);
+
+        StreamingResponseBody body = out -> orderExportService.export(format, from, to, out);
+
+        return ResponseEntity.ok()
+                             .contentType(MediaType.parseMediaType(format.getContentType()))
+                             .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=orders." + format.getExtension())
+                             .body(body);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get order by ID", description = "Retrieves a specific order by its ID")
     public ResponseEntity<ApiResponseWrapper<OrderResponseDTO>> getOrderById(
@@ -93,14 +243,7 @@ public class OrderController {
             @PathVariable Long id) {
         log.info("Fetching status for order: {}", id);
 
-        OrderResponseDTO order = orderService.getOrderById(id);
-
-        OrderStatusResponseDTO statusResponse = OrderStatusResponseDTO.builder()
-                                                                      .orderId(order.getId())
-                                                                      .status(order.getStatus())
-                                                                      .orderTime(order.getOrderTime())
-                                                                      .processedTime(order.getProcessedTime())
-                                                                      .build();
+        OrderStatusResponseDTO statusResponse = orderService.getOrderStatus(id);
 
         return ResponseEntity.ok(ApiResponseWrapper.<OrderStatusResponseDTO>builder()
                                                    .success(true)
@@ -110,6 +253,30 @@ public class OrderController {
                                                    .build());
     }
 
+    @GetMapping(value = "/{id}/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream order status",
+            description = "Server-Sent Events: the current status, then every change until the order reaches a final status")
+    public SseEmitter streamOrderStatus(@PathVariable Long id) {
+        log.info("Opening status stream for order: {}", id);
+
+        return statusStreams.subscribe(List.of(orderService.getOrderStatus(id)));
+    }
+
+    @GetMapping(value = "/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream status of several orders",
+            description = "Server-Sent Events for up to 100 orders on one connection, closed once all reached a final status")
+    public SseEmitter streamOrderStatuses(
+            @Parameter(description = "Order ids, comma separated")
+            @RequestParam @NotEmpty @Size(max = 100) List<Long> ids) {
+        log.info("Opening status stream for {} orders", ids.size());
+
+        List<OrderStatusResponseDTO> statuses = ids.stream()
+                                                   .distinct()
+                                                   .map(orderService::getOrderStatus)
+                                                   .toList();
+        return statusStreams.subscribe(statuses);
+    }
+
     @PatchMapping("/{id}/status")
     @Operation(summary = "Update order status", description = "Manually updates the status of an order")
     public ResponseEntity<ApiResponseWrapper<OrderResponseDTO>> updateOrderStatus(
@@ -117,7 +284,7 @@ public class OrderController {
             @Valid @RequestBody OrderStatusUpdateDTO statusUpdate) {
         log.info("Updating status for order {} to: {}", id, statusUpdate.getStatus());
 
-        OrderResponseDTO updatedOrder = orderService.updateOrderStatus(id, statusUpdate);
+        OrderResponseDTO updatedOrder = workerPool.call(id, () -> orderService.updateOrderStatus(id, statusUpdate));
 
         return ResponseEntity.ok(ApiResponseWrapper.<OrderResponseDTO>builder()
                                                    .success(true)
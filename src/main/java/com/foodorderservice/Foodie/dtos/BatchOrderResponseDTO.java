@@ -0,0 +1,18 @@
+package com.foodorderservice.Foodie.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchOrderResponseDTO {
+    private int created;
+    private int rejected;
+    private List<BatchOrderResultDTO> results;
+}
@@ -0,0 +1,21 @@
+package com.foodorderservice.Foodie.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchOrderResultDTO {
+    private int index;
+    private boolean success;
+    private OrderResponseDTO order;
+    private List<String> errors;
+}
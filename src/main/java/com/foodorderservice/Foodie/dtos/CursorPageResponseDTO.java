@@ -0,0 +1,32 @@
+package com.foodorderservice.Foodie.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPageResponseDTO<T> {
+    private List<T> content;
+    private int pageSize;
+    private boolean hasNext;
+    private String nextCursor;
+    private Long totalElements;
+    private CountMode countMode;
+
+    public enum CountMode {
+        /** No total is computed. */
+        NONE,
+        /** Table statistics estimate, cheap but may be off by a large margin. */
+        APPROXIMATE,
+        /** {@code COUNT(*)} over the table. */
+        EXACT
+    }
+}
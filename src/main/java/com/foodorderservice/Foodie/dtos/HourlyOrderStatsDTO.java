@@ -0,0 +1,19 @@
+package com.foodorderservice.Foodie.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HourlyOrderStatsDTO {
+    private LocalDateTime hour;
+    private long orders;
+    private BigDecimal revenue;
+}
@@ -1,3 +1,17 @@
 package com.foodorderservice.Foodie.dtos;
 
-public record OrderCreatedEvent(Long orderId) {}
\ No newline at end of file
+import com.foodorderservice.Foodie.entity.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Published inside the transaction that inserted the order.
+ */
+public record OrderCreatedEvent(Long orderId, OrderStatus status, LocalDateTime orderTime, BigDecimal totalAmount) {
+
+    public OrderCreatedEvent {
+        Objects.requireNonNull(orderTime, "orderTime must be set before the order is published");
+    }
+}
@@ -0,0 +1,9 @@
+package com.foodorderservice.Foodie.dtos;
+
+import java.util.List;
+
+/**
+ * Published after this node acquired order partitions it did not hold before, e.g. those of a stopped node.
+ */
+public record OrderPartitionsAcquiredEvent(List<Integer> partitions) {
+}
@@ -22,5 +22,6 @@ public class OrderResponseDTO {
     private OrderStatus status;
     private LocalDateTime orderTime;
     private LocalDateTime processedTime;
+    private Long version;
     private List<OrderItemDTO> items;
 }
@@ -0,0 +1,27 @@
+package com.foodorderservice.Foodie.dtos;
+
+import com.foodorderservice.Foodie.entity.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Filters for the order search; {@code null} or empty fields do not filter.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderSearchCriteria {
+    private Set<OrderStatus> statuses;
+    private String customerNamePrefix;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+}
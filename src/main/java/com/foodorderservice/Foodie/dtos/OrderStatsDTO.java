@@ -0,0 +1,22 @@
+package com.foodorderservice.Foodie.dtos;
+
+import com.foodorderservice.Foodie.entity.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderStatsDTO {
+    private long totalOrders;
+    private Map<OrderStatus, Long> ordersByStatus;
+    private List<HourlyOrderStatsDTO> hourly;
+    private LocalDateTime snapshotAt;
+}
@@ -0,0 +1,13 @@
+package com.foodorderservice.Foodie.dtos;
+
+import com.foodorderservice.Foodie.entity.enums.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Published inside the transaction that moved {@code orderIds} from {@code from} to {@code to}. Listeners
+ * that act on committed state should use {@code @TransactionalEventListener}.
+ */
+public record OrderStatusChangedEvent(List<Long> orderIds, OrderStatus from, OrderStatus to, LocalDateTime changedAt) {
+}
@@ -16,4 +16,7 @@ public class OrderStatusUpdateDTO {
 
     @NotNull(message = "Status is required")
     private OrderStatus status;
+
+    /** Optional; when set, the update only applies if the order is still at this version. */
+    private Long expectedVersion;
 }
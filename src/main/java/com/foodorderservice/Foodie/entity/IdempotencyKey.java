@@ -0,0 +1,59 @@
+package com.foodorderservice.Foodie.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Client-supplied {@code Idempotency-Key} of an order creation, written in the same transaction as the order.
+ * Holds a hash of the request it was first used with and the response that request produced, so a retry is
+ * answered from this row alone.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_expires_at", columnList = "expiresAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyKey implements Persistable<String> {
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String key;
+
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String response;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Transient
+    @Builder.Default
+    private boolean isNew = true;
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -6,7 +6,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import org.hibernate.annotations.CreationTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -16,8 +15,10 @@ import java.util.List;
 @Entity
 @Table(name = "orders", indexes = {
         @Index(name = "idx_order_status", columnList = "status"),
+        @Index(name = "idx_order_status_time", columnList = "status, orderTime"),
         @Index(name = "idx_order_time", columnList = "orderTime"),
-        @Index(name = "idx_customer_name", columnList = "customerName")
+        @Index(name = "idx_customer_name_time", columnList = "customerName, orderTime"),
+        @Index(name = "idx_order_amount", columnList = "totalAmount")
 })
 @Data
 @NoArgsConstructor
@@ -25,7 +26,8 @@ import java.util.List;
 @Builder
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_id_seq")
+    @SequenceGenerator(name = "order_id_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -39,13 +41,19 @@ public class Order {
     @Builder.Default
     private OrderStatus status = OrderStatus.PENDING;
 
-    @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime orderTime;
 
     @Column
     private LocalDateTime processedTime;
 
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     @Builder.Default
     private List<OrderItem> items = new ArrayList<>();
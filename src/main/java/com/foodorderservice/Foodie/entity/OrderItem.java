@@ -17,7 +17,8 @@ import java.math.BigDecimal;
 @Builder
 public class OrderItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_id_seq")
+    @SequenceGenerator(name = "order_item_id_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
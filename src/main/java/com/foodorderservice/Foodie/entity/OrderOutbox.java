@@ -0,0 +1,75 @@
+package com.foodorderservice.Foodie.entity;
+
+import com.foodorderservice.Foodie.entity.enums.OrderLane;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pending hand-off of an order to the processing queue, written in the same transaction as the order.
+ * The row is claimed (leased) by the outbox dispatcher and deleted once processing of the order begins.
+ * It carries the order's scheduling lane and deadline, so they survive until the order is queued.
+ */
+@Entity
+@Table(name = "order_outbox", indexes = {
+        @Index(name = "idx_outbox_available_at", columnList = "availableAt"),
+        @Index(name = "idx_outbox_created_at", columnList = "createdAt"),
+        @Index(name = "idx_outbox_lane_deadline", columnList = "lane, deadline")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderOutbox implements Persistable<Long> {
+    @Id
+    private Long orderId;
+
+    @Column(nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    @Builder.Default
+    private OrderLane lane = OrderLane.NORMAL;
+
+    @Column(nullable = false)
+    private LocalDateTime deadline;
+
+    @Transient
+    @Builder.Default
+    private boolean isNew = true;
+
+    public static OrderOutbox forOrder(Long orderId, OrderLane lane, LocalDateTime deadline) {
+        LocalDateTime now = LocalDateTime.now();
+        return OrderOutbox.builder()
+                          .orderId(orderId)
+                          .availableAt(now)
+                          .createdAt(now)
+                          .lane(lane)
+                          .deadline(deadline)
+                          .build();
+    }
+
+    @Override
+    public Long getId() {
+        return orderId;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -0,0 +1,47 @@
+package com.foodorderservice.Foodie.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease on one order partition ({@code order_id % partitions}). Only the owning node dispatches and recovers
+ * the partition's orders, and only while {@code leaseUntil} lies in the future; the owner extends it on every
+ * heartbeat, so the partition of a node that stops heartbeating becomes free once the lease runs out.
+ */
+@Entity
+@Table(name = "processing_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProcessingLease implements Persistable<Integer> {
+    @Id
+    private Integer partitionId;
+
+    @Column(length = 100)
+    private String owner;
+
+    @Column(nullable = false)
+    private LocalDateTime leaseUntil;
+
+    @Transient
+    @Builder.Default
+    private boolean isNew = true;
+
+    @Override
+    public Integer getId() {
+        return partitionId;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -0,0 +1,44 @@
+package com.foodorderservice.Foodie.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Heartbeat of a running application instance. The number of live nodes decides how many partitions each
+ * node should hold, so a node that has just started gets its share even before it owns any partition.
+ */
+@Entity
+@Table(name = "processing_nodes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProcessingNode implements Persistable<String> {
+    @Id
+    @Column(length = 100)
+    private String nodeId;
+
+    @Column(nullable = false)
+    private LocalDateTime heartbeatAt;
+
+    @Transient
+    @Builder.Default
+    private boolean isNew = true;
+
+    @Override
+    public String getId() {
+        return nodeId;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
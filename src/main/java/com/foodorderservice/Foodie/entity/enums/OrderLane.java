@@ -0,0 +1,9 @@
+package com.foodorderservice.Foodie.entity.enums;
+
+/**
+ * Scheduling lane of an order: large orders go to {@code BULK} so a burst of them cannot hold up regular ones.
+ */
+public enum OrderLane {
+    NORMAL,
+    BULK
+}
@@ -0,0 +1,7 @@
+package com.foodorderservice.Foodie.exception;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.foodorderservice.Foodie.exception;
+
+public class OrderIntakeThrottledException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public OrderIntakeThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
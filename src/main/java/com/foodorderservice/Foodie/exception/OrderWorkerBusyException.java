@@ -0,0 +1,7 @@
+package com.foodorderservice.Foodie.exception;
+
+public class OrderWorkerBusyException extends RuntimeException {
+    public OrderWorkerBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,26 @@
+package com.foodorderservice.Foodie.repository;
+
+import com.foodorderservice.Foodie.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    @Query("SELECT k FROM IdempotencyKey k WHERE k.key = :key AND k.expiresAt > :now")
+    Optional<IdempotencyKey> findActive(@Param("key") String key, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.key = :key AND k.expiresAt <= :now")
+    int deleteIfExpired(@Param("key") String key, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys WHERE expires_at <= :now LIMIT :limit", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
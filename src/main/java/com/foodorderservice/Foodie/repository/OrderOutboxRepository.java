@@ -0,0 +1,54 @@
+package com.foodorderservice.Foodie.repository;
+
+import com.foodorderservice.Foodie.entity.OrderOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderOutboxRepository extends JpaRepository<OrderOutbox, Long> {
+
+    /**
+     * Due rows of one lane, earliest deadline first (walking {@code idx_outbox_lane_deadline}).
+     *
+     * @return {@code [order_id, lane, deadline]} of each locked row
+     */
+    @Query(value = "SELECT order_id, lane, deadline FROM order_outbox WHERE lane = :lane AND available_at <= :now " +
+            "AND MOD(order_id, :partitions) IN (:partitionIds) " +
+            "ORDER BY deadline LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Object[]> lockAvailable(@Param("lane") String lane, @Param("now") LocalDateTime now,
+                                 @Param("partitions") int partitions,
+                                 @Param("partitionIds") Collection<Integer> partitionIds, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE OrderOutbox o SET o.availableAt = :leaseUntil, o.attempts = o.attempts + 1 WHERE o.orderId IN :orderIds")
+    int lease(@Param("orderIds") Collection<Long> orderIds, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("UPDATE OrderOutbox o SET o.availableAt = :availableAt WHERE o.orderId IN :orderIds")
+    int release(@Param("orderIds") Collection<Long> orderIds, @Param("availableAt") LocalDateTime availableAt);
+
+    /**
+     * Makes the leased rows of the given partitions available again, e.g. after their previous owner stopped.
+     */
+    @Modifying
+    @Query("UPDATE OrderOutbox o SET o.availableAt = :now WHERE MOD(o.orderId, :partitions) IN :partitionIds AND o.availableAt > :now")
+    int releasePartitions(@Param("partitions") int partitions, @Param("partitionIds") Collection<Integer> partitionIds,
+                          @Param("now") LocalDateTime now);
+
+    /**
+     * Creation time of the oldest order whose processing has not begun yet, or {@code null} if there is none.
+     */
+    @Query("SELECT MIN(o.createdAt) FROM OrderOutbox o")
+    LocalDateTime findOldestCreatedAt();
+
+    @Modifying
+    @Query("DELETE FROM OrderOutbox o WHERE o.orderId IN :orderIds")
+    int deleteByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+}
@@ -1,21 +1,124 @@
 package com.foodorderservice.Foodie.repository;
 
 
+import com.foodorderservice.Foodie.dtos.OrderStatusResponseDTO;
 import com.foodorderservice.Foodie.entity.Order;
 import com.foodorderservice.Foodie.entity.enums.OrderStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderSearchRepository {
 
     @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id = :id")
     Optional<Order> findByIdWithItems(@Param("id") Long id);
 
-    List<Order> findByStatus(OrderStatus orderStatus);
+    @Query("SELECT o.status, COUNT(o) FROM Order o GROUP BY o.status")
+    List<Object[]> countByStatus();
+
+    /**
+     * Order count and amount sum per hour of order time since {@code since}, as
+     * {@code [year, month, day, hour, count, sum]} rows.
+     */
+    @Query("SELECT year(o.orderTime), month(o.orderTime), day(o.orderTime), hour(o.orderTime), COUNT(o), SUM(o.totalAmount) " +
+            "FROM Order o WHERE o.orderTime >= :since " +
+            "GROUP BY year(o.orderTime), month(o.orderTime), day(o.orderTime), hour(o.orderTime)")
+    List<Object[]> sumByHourSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT new com.foodorderservice.Foodie.dtos.OrderStatusResponseDTO(o.id, o.status, o.orderTime, o.processedTime) " +
+            "FROM Order o WHERE o.id = :id")
+    Optional<OrderStatusResponseDTO> findStatusById(@Param("id") Long id);
+
+    @Query(value = "SELECT o.id FROM Order o", countQuery = "SELECT COUNT(o) FROM Order o")
+    Page<Long> findPageOfIds(Pageable pageable);
+
+    /*
+     * Keyset pages over (order_time, id). The leading range on orderTime lets MySQL seek on idx_order_time
+     * (InnoDB secondary indexes carry the primary key, so the index is ordered by order_time, id); the
+     * second predicate skips the rows of the boundary timestamp already returned.
+     */
+    @Query("SELECT o.id FROM Order o ORDER BY o.orderTime DESC, o.id DESC")
+    List<Long> findFirstIdsNewestFirst(Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o WHERE o.orderTime <= :orderTime AND (o.orderTime < :orderTime OR o.id < :id) " +
+            "ORDER BY o.orderTime DESC, o.id DESC")
+    List<Long> findIdsBefore(@Param("orderTime") LocalDateTime orderTime, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o ORDER BY o.orderTime ASC, o.id ASC")
+    List<Long> findFirstIdsOldestFirst(Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o WHERE o.orderTime >= :orderTime AND (o.orderTime > :orderTime OR o.id > :id) " +
+            "ORDER BY o.orderTime ASC, o.id ASC")
+    List<Long> findIdsAfter(@Param("orderTime") LocalDateTime orderTime, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Row count estimate from InnoDB table statistics; avoids scanning the table but may be off considerably.
+     */
+    @Query(value = "SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'orders'",
+            nativeQuery = true)
+    Long estimateRowCount();
+
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id IN :ids")
+    List<Order> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT id FROM orders WHERE id IN (:ids) AND status = :status FOR UPDATE", nativeQuery = true)
+    List<Long> lockIdsWithStatus(@Param("ids") Collection<Long> ids, @Param("status") String status);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :toStatus, o.version = o.version + 1 WHERE o.id IN :ids AND o.status = :fromStatus")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("fromStatus") OrderStatus fromStatus,
+                     @Param("toStatus") OrderStatus toStatus);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :toStatus, o.processedTime = :processedTime, o.version = o.version + 1 " +
+            "WHERE o.id IN :ids AND o.status = :fromStatus")
+    int updateStatusProcessed(@Param("ids") Collection<Long> ids, @Param("fromStatus") OrderStatus fromStatus,
+                              @Param("toStatus") OrderStatus toStatus, @Param("processedTime") LocalDateTime processedTime);
+
+    /**
+     * Status and version of one order, read without a lock ahead of {@link #compareAndSetStatus}.
+     */
+    interface StatusVersion {
+        OrderStatus getStatus();
+
+        Long getVersion();
+    }
+
+    @Query("SELECT o.status AS status, o.version AS version FROM Order o WHERE o.id = :id")
+    Optional<StatusVersion> findStatusVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :toStatus, o.processedTime = COALESCE(:processedTime, o.processedTime), " +
+            "o.version = o.version + 1 WHERE o.id = :id AND o.status IN :sources AND o.version = :version")
+    int compareAndSetStatus(@Param("id") Long id, @Param("sources") Collection<OrderStatus> sources,
+                            @Param("toStatus") OrderStatus toStatus, @Param("processedTime") LocalDateTime processedTime,
+                            @Param("version") Long version);
+
+    @Query("SELECT o.id FROM Order o WHERE o.status = :status AND o.id > :afterId " +
+            "AND MOD(o.id, :partitions) IN :partitionIds " +
+            "AND NOT EXISTS (SELECT 1 FROM OrderOutbox x WHERE x.orderId = o.id) ORDER BY o.id")
+    List<Long> findUnqueuedIdsByStatusAfter(@Param("status") OrderStatus status, @Param("afterId") Long afterId,
+                                            @Param("partitions") int partitions,
+                                            @Param("partitionIds") Collection<Integer> partitionIds, Pageable limit);
+
+    @Query("SELECT o.id FROM Order o WHERE o.status = :status AND o.updatedAt < :before AND o.id > :afterId " +
+            "AND MOD(o.id, :partitions) IN :partitionIds ORDER BY o.id")
+    List<Long> findIdsByStatusUpdatedBefore(@Param("status") OrderStatus status, @Param("before") LocalDateTime before,
+                                            @Param("afterId") Long afterId, @Param("partitions") int partitions,
+                                            @Param("partitionIds") Collection<Integer> partitionIds, Pageable limit);
+
+    @Query(value = "SELECT id FROM orders WHERE id IN (:ids) AND status = :status AND updated_at < :before FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockIdsWithStatusUpdatedBefore(@Param("ids") Collection<Long> ids, @Param("status") String status,
+                                              @Param("before") LocalDateTime before);
 }
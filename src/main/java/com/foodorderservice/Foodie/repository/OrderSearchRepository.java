@@ -0,0 +1,17 @@
+package com.foodorderservice.Foodie.repository;
+
+import com.foodorderservice.Foodie.dtos.OrderSearchCriteria;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderSearchRepository {
+
+    /**
+     * Ids of the orders matching {@code criteria} in {@code (orderTime, id)} order, starting after the
+     * keyset position {@code (afterOrderTime, afterId)} when given.
+     */
+    List<Long> searchIds(OrderSearchCriteria criteria, Sort.Direction direction,
+                         LocalDateTime afterOrderTime, Long afterId, int limit);
+}
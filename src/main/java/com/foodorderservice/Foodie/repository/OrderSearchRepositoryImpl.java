@@ -0,0 +1,83 @@
+package com.foodorderservice.Foodie.repository;
+
+import com.foodorderservice.Foodie.dtos.OrderSearchCriteria;
+import com.foodorderservice.Foodie.entity.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the search as one id query with only the predicates that were asked for, so MySQL can pick the
+ * matching composite index: {@code (status, order_time)} for status filters, {@code (customer_name, order_time)}
+ * for name prefixes and {@code (order_time)} for plain time ranges.
+ */
+public class OrderSearchRepositoryImpl implements OrderSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> searchIds(OrderSearchCriteria criteria, Sort.Direction direction,
+                                LocalDateTime afterOrderTime, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Order> order = query.from(Order.class);
+        Path<LocalDateTime> orderTime = order.get("orderTime");
+        Path<Long> id = order.get("id");
+        Path<BigDecimal> totalAmount = order.get("totalAmount");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.getStatuses() != null && !criteria.getStatuses().isEmpty()) {
+            predicates.add(order.get("status").in(criteria.getStatuses()));
+        }
+        if (criteria.getCustomerNamePrefix() != null && !criteria.getCustomerNamePrefix().isBlank()) {
+            predicates.add(cb.like(order.get("customerName"), escapeLike(criteria.getCustomerNamePrefix()) + "%", '\\'));
+        }
+        if (criteria.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(orderTime, criteria.getFrom()));
+        }
+        if (criteria.getTo() != null) {
+            predicates.add(cb.lessThan(orderTime, criteria.getTo()));
+        }
+        if (criteria.getMinAmount() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(totalAmount, criteria.getMinAmount()));
+        }
+        if (criteria.getMaxAmount() != null) {
+            predicates.add(cb.lessThanOrEqualTo(totalAmount, criteria.getMaxAmount()));
+        }
+        if (afterOrderTime != null) {
+            // Same shape as the listing keyset: a range on orderTime the index can seek, then the tie-breaker.
+            if (direction == Sort.Direction.DESC) {
+                predicates.add(cb.lessThanOrEqualTo(orderTime, afterOrderTime));
+                predicates.add(cb.or(cb.lessThan(orderTime, afterOrderTime), cb.lessThan(id, afterId)));
+            } else {
+                predicates.add(cb.greaterThanOrEqualTo(orderTime, afterOrderTime));
+                predicates.add(cb.or(cb.greaterThan(orderTime, afterOrderTime), cb.greaterThan(id, afterId)));
+            }
+        }
+
+        query.select(id)
+             .where(predicates.toArray(Predicate[]::new))
+             .orderBy(direction == Sort.Direction.DESC
+                     ? List.of(cb.desc(orderTime), cb.desc(id))
+                     : List.of(cb.asc(orderTime), cb.asc(id)));
+
+        return entityManager.createQuery(query)
+                            .setMaxResults(limit)
+                            .getResultList();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,44 @@
+package com.foodorderservice.Foodie.repository;
+
+import com.foodorderservice.Foodie.entity.ProcessingLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProcessingLeaseRepository extends JpaRepository<ProcessingLease, Integer> {
+
+    @Query("SELECT l.partitionId FROM ProcessingLease l")
+    List<Integer> findAllPartitionIds();
+
+    @Modifying
+    @Query("UPDATE ProcessingLease l SET l.leaseUntil = :leaseUntil WHERE l.owner = :owner AND l.leaseUntil > :now")
+    int renew(@Param("owner") String owner, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Query("SELECT l.partitionId FROM ProcessingLease l WHERE l.owner = :owner AND l.leaseUntil > :now " +
+            "AND l.partitionId < :partitions ORDER BY l.partitionId")
+    List<Integer> findOwned(@Param("owner") String owner, @Param("now") LocalDateTime now, @Param("partitions") int partitions);
+
+    @Query("SELECT l FROM ProcessingLease l WHERE (l.owner IS NULL OR l.leaseUntil <= :now) " +
+            "AND l.partitionId < :partitions ORDER BY l.partitionId")
+    List<ProcessingLease> findClaimable(@Param("now") LocalDateTime now, @Param("partitions") int partitions);
+
+    /**
+     * Takes the partition if it is still free or expired; concurrent nodes racing for it get 0.
+     */
+    @Modifying
+    @Query("UPDATE ProcessingLease l SET l.owner = :owner, l.leaseUntil = :leaseUntil " +
+            "WHERE l.partitionId = :partitionId AND (l.owner IS NULL OR l.leaseUntil <= :now)")
+    int acquire(@Param("partitionId") int partitionId, @Param("owner") String owner, @Param("now") LocalDateTime now,
+                @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("UPDATE ProcessingLease l SET l.owner = NULL, l.leaseUntil = :now WHERE l.owner = :owner AND l.partitionId IN :partitionIds")
+    int release(@Param("partitionIds") Collection<Integer> partitionIds, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,24 @@
+package com.foodorderservice.Foodie.repository;
+
+import com.foodorderservice.Foodie.entity.ProcessingNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ProcessingNodeRepository extends JpaRepository<ProcessingNode, String> {
+
+    @Modifying
+    @Query("UPDATE ProcessingNode n SET n.heartbeatAt = :now WHERE n.nodeId = :nodeId")
+    int touch(@Param("nodeId") String nodeId, @Param("now") LocalDateTime now);
+
+    long countByHeartbeatAtAfter(LocalDateTime after);
+
+    @Modifying
+    @Query("DELETE FROM ProcessingNode n WHERE n.heartbeatAt <= :before")
+    int deleteStale(@Param("before") LocalDateTime before);
+}
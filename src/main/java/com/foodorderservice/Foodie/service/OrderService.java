@@ -1,18 +1,35 @@
 package com.foodorderservice.Foodie.service;
 
+import com.foodorderservice.Foodie.dtos.BatchOrderResponseDTO;
+import com.foodorderservice.Foodie.dtos.CursorPageResponseDTO;
 import com.foodorderservice.Foodie.dtos.OrderRequestDTO;
 import com.foodorderservice.Foodie.dtos.OrderResponseDTO;
+import com.foodorderservice.Foodie.dtos.OrderSearchCriteria;
+import com.foodorderservice.Foodie.dtos.OrderStatusResponseDTO;
 import com.foodorderservice.Foodie.dtos.OrderStatusUpdateDTO;
 import com.foodorderservice.Foodie.dtos.PageResponseDTO;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
 
 public interface OrderService {
     OrderResponseDTO updateOrderStatus(Long id, @Valid OrderStatusUpdateDTO statusUpdate);
 
     OrderResponseDTO getOrderById(Long id);
 
+    OrderStatusResponseDTO getOrderStatus(Long id);
+
     PageResponseDTO<OrderResponseDTO> getAllOrders(Pageable pageable);
 
+    CursorPageResponseDTO<OrderResponseDTO> getOrdersByCursor(String cursor, int size, Sort.Direction direction,
+                                                               CursorPageResponseDTO.CountMode countMode);
+
+    CursorPageResponseDTO<OrderResponseDTO> searchOrders(OrderSearchCriteria criteria, String cursor, int size,
+                                                          Sort.Direction direction);
+
     OrderResponseDTO createOrder(@Valid OrderRequestDTO orderRequest);
+
+    BatchOrderResponseDTO createOrders(List<OrderRequestDTO> orderRequests);
 }
@@ -0,0 +1,96 @@
+package com.foodorderservice.Foodie.service.impl;
+
+import com.foodorderservice.Foodie.config.OrderQueue;
+import com.foodorderservice.Foodie.exception.OrderIntakeThrottledException;
+import com.foodorderservice.Foodie.repository.OrderOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides whether new orders are accepted, before anything is written. Intake is refused while the
+ * processing queue is nearly full or while the oldest order not yet picked up for processing (the oldest
+ * outbox row) is older than the allowed lag, so a spike is turned away with a retry hint instead of piling
+ * up work that cannot be processed in time. The lag is sampled from the database on a timer, so the check
+ * itself costs no query.
+ */
+@Component
+@Slf4j
+public class OrderAdmissionControl {
+
+    private final OrderQueue orderQueue;
+    private final OrderOutboxRepository outboxRepository;
+    private final Counter throttledByQueue;
+    private final Counter throttledByLag;
+
+    private final boolean enabled;
+    private final double maxQueueFill;
+    private final long maxLagMs;
+    private final long maxRetryAfterSeconds;
+
+    private volatile long lagMs;
+
+    public OrderAdmissionControl(OrderQueue orderQueue, OrderOutboxRepository outboxRepository, MeterRegistry meterRegistry,
+                                 @Value("${order.admission.enabled:true}") boolean enabled,
+                                 @Value("${order.admission.max-queue-fill:0.9}") double maxQueueFill,
+                                 @Value("${order.admission.max-lag-ms:30000}") long maxLagMs,
+                                 @Value("${order.admission.max-retry-after-s:30}") long maxRetryAfterSeconds) {
+        this.orderQueue = orderQueue;
+        this.outboxRepository = outboxRepository;
+        this.enabled = enabled;
+        this.maxQueueFill = maxQueueFill;
+        this.maxLagMs = maxLagMs;
+        this.maxRetryAfterSeconds = maxRetryAfterSeconds;
+
+        this.throttledByQueue = throttledCounter(meterRegistry, "queue_depth");
+        this.throttledByLag = throttledCounter(meterRegistry, "lag");
+        TimeGauge.builder("orders.processing.lag", this, TimeUnit.MILLISECONDS, control -> control.lagMs)
+                 .description("Age of the oldest order not yet picked up for processing")
+                 .register(meterRegistry);
+    }
+
+    private static Counter throttledCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("orders.admission.throttled")
+                      .description("Order creation requests refused by admission control")
+                      .tag("reason", reason)
+                      .register(meterRegistry);
+    }
+
+    /**
+     * @throws OrderIntakeThrottledException if new orders should not be accepted right now
+     */
+    public void admit() {
+        if (!enabled) {
+            return;
+        }
+        long lag = lagMs;
+        if (lag > maxLagMs) {
+            throttledByLag.increment();
+            long retryAfter = Math.min(maxRetryAfterSeconds, Math.max(1, TimeUnit.MILLISECONDS.toSeconds(lag - maxLagMs) + 1));
+            throw new OrderIntakeThrottledException("Orders are waiting " + lag + " ms for processing", retryAfter);
+        }
+        int depth = orderQueue.size();
+        if (depth >= Math.max(1, (int) ((depth + orderQueue.remainingCapacity()) * maxQueueFill))) {
+            throttledByQueue.increment();
+            throw new OrderIntakeThrottledException("Processing queue holds " + depth + " orders", 1);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${order.admission.lag-sample-ms:1000}")
+    public void sampleLag() {
+        LocalDateTime oldest = outboxRepository.findOldestCreatedAt();
+        long sampled = oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis());
+        if (sampled > maxLagMs && lagMs <= maxLagMs) {
+            log.warn("Processing lag {} ms exceeds {} ms, throttling order intake", sampled, maxLagMs);
+        }
+        lagMs = sampled;
+    }
+}
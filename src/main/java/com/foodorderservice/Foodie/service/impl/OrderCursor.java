@@ -0,0 +1,36 @@
+package com.foodorderservice.Foodie.service.impl;
+
+import com.foodorderservice.Foodie.exception.InvalidCursorException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the {@code (order_time, id)} ordering of orders: the last row of a page plus the direction
+ * being walked. Handed to clients as an opaque URL-safe token.
+ */
+record OrderCursor(Sort.Direction direction, LocalDateTime orderTime, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    String encode() {
+        String raw = direction.name() + SEPARATOR + orderTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static OrderCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new InvalidCursorException("Malformed cursor");
+            }
+            return new OrderCursor(Sort.Direction.valueOf(parts[0]), LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.foodorderservice.Foodie.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodorderservice.Foodie.dtos.OrderItemDTO;
+import com.foodorderservice.Foodie.dtos.OrderResponseDTO;
+import com.foodorderservice.Foodie.entity.enums.OrderStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams orders with their items straight from one forward-only JDBC result set to the response. Rows of
+ * the orders/order_items join arrive grouped by order, so only the order being assembled is held in memory
+ * and every finished order is written out immediately, however large the export.
+ */
+@Service
+@Slf4j
+public class OrderExportService {
+
+    private static final String EXPORT_SQL =
+            "SELECT o.id, o.customer_name, o.total_amount, o.status, o.order_time, o.processed_time, o.version, " +
+            "i.item_name, i.quantity, i.price " +
+            "FROM orders o LEFT JOIN order_items i ON i.order_id = o.id " +
+            "WHERE o.order_time >= ? AND o.order_time < ? " +
+            "ORDER BY o.order_time, o.id, i.id";
+
+    private static final String CSV_HEADER =
+            "order_id,customer_name,total_amount,status,order_time,processed_time,item_name,quantity,price\n";
+
+    private static final LocalDateTime MIN_TIME = LocalDateTime.of(1970, 1, 1, 0, 0, 1);
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(2038, 1, 19, 0, 0);
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private final JdbcTemplate exportJdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param fetchSize rows per round trip; MySQL Connector/J streams row by row only with
+     *                  {@code Integer.MIN_VALUE}, other drivers take a positive size
+     */
+    public OrderExportService(DataSource dataSource, ObjectMapper objectMapper,
+                              @Value("${order.export.fetch-size:-2147483648}") int fetchSize) {
+        this.exportJdbcTemplate = new JdbcTemplate(dataSource);
+        this.exportJdbcTemplate.setFetchSize(fetchSize);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes the orders placed in {@code [from, to)} to {@code out}; either bound may be {@code null}.
+     */
+    public void export(Format format, LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        OutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+        OrderWriter writer = format == Format.CSV ? new CsvOrderWriter(buffered) : new NdjsonOrderWriter(buffered);
+
+        OrderAssembler assembler = new OrderAssembler(writer);
+        try {
+            exportJdbcTemplate.query(EXPORT_SQL, assembler,
+                    Timestamp.valueOf(from != null ? from : MIN_TIME), Timestamp.valueOf(to != null ? to : MAX_TIME));
+            assembler.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        buffered.flush();
+        log.info("Exported {} orders as {} in {} ms", assembler.exported, format, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private interface OrderWriter {
+        void write(OrderResponseDTO order) throws IOException;
+    }
+
+    /**
+     * Collects the joined rows of one order and hands the order to the writer when the next order starts.
+     */
+    private static final class OrderAssembler implements RowCallbackHandler {
+        private final OrderWriter writer;
+        private OrderResponseDTO current;
+        private long exported;
+
+        OrderAssembler(OrderWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long orderId = rs.getLong("id");
+            if (current == null || current.getId() != orderId) {
+                finish();
+                current = OrderResponseDTO.builder()
+                                          .id(orderId)
+                                          .customerName(rs.getString("customer_name"))
+                                          .totalAmount(rs.getBigDecimal("total_amount"))
+                                          .status(OrderStatus.valueOf(rs.getString("status")))
+                                          .orderTime(toLocalDateTime(rs.getTimestamp("order_time")))
+                                          .processedTime(toLocalDateTime(rs.getTimestamp("processed_time")))
+                                          .version(rs.getLong("version"))
+                                          .items(new ArrayList<>())
+                                          .build();
+            }
+            String itemName = rs.getString("item_name");
+            if (itemName != null) {
+                current.getItems().add(OrderItemDTO.builder()
+                                                   .itemName(itemName)
+                                                   .quantity(rs.getInt("quantity"))
+                                                   .price(rs.getBigDecimal("price"))
+                                                   .build());
+            }
+        }
+
+        void finish() {
+            if (current == null) {
+                return;
+            }
+            try {
+                writer.write(current);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            exported++;
+            current = null;
+        }
+
+        private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+            return timestamp != null ? timestamp.toLocalDateTime() : null;
+        }
+    }
+
+    private final class NdjsonOrderWriter implements OrderWriter {
+        private final OutputStream out;
+
+        NdjsonOrderWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(OrderResponseDTO order) throws IOException {
+            out.write(objectMapper.writeValueAsBytes(order));
+            out.write('\n');
+        }
+    }
+
+    /**
+     * One line per item, repeating the order columns; an order without items is one line with empty item columns.
+     */
+    private static final class CsvOrderWriter implements OrderWriter {
+        private final OutputStream out;
+
+        CsvOrderWriter(OutputStream out) throws IOException {
+            this.out = out;
+            out.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void write(OrderResponseDTO order) throws IOException {
+            String orderColumns = order.getId() + "," + escape(order.getCustomerName()) + "," + plain(order.getTotalAmount()) + ","
+                    + order.getStatus() + "," + order.getOrderTime() + "," + nullToEmpty(order.getProcessedTime()) + ",";
+            List<OrderItemDTO> items = order.getItems();
+            StringBuilder lines = new StringBuilder();
+            if (items.isEmpty()) {
+                lines.append(orderColumns).append(",,\n");
+            }
+            for (OrderItemDTO item : items) {
+                lines.append(orderColumns)
+                     .append(escape(item.getItemName())).append(',')
+                     .append(item.getQuantity()).append(',')
+                     .append(plain(item.getPrice())).append('\n');
+            }
+            out.write(lines.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        private static String plain(BigDecimal value) {
+            return value.toPlainString();
+        }
+
+        private static String nullToEmpty(Object value) {
+            return value != null ? value.toString() : "";
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.foodorderservice.Foodie.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodorderservice.Foodie.cache.BoundedTtlCache;
+import com.foodorderservice.Foodie.dtos.OrderRequestDTO;
+import com.foodorderservice.Foodie.dtos.OrderResponseDTO;
+import com.foodorderservice.Foodie.entity.IdempotencyKey;
+import com.foodorderservice.Foodie.exception.IdempotencyKeyMismatchException;
+import com.foodorderservice.Foodie.exception.OrderConflictException;
+import com.foodorderservice.Foodie.repository.IdempotencyKeyRepository;
+import com.foodorderservice.Foodie.service.OrderService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Creates an order at most once per {@code Idempotency-Key}. Completed keys are looked up in a bounded
+ * in-memory cache, then in the {@code idempotency_keys} table, which is written in the order's transaction
+ * together with the serialized response; a replay is answered from there without reading {@code orders}.
+ * Concurrent requests with the same key wait for the one that got there first instead of racing it, and a
+ * key reused with a different request body is rejected.
+ */
+@Service
+@Slf4j
+public class OrderIdempotencyService {
+
+    private static final int CLEANUP_CHUNK = 1000;
+
+    private final OrderService orderService;
+    private final OrderAdmissionControl admissionControl;
+    private final IdempotencyKeyRepository keyRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+    private final Counter replays;
+
+    private final BoundedTtlCache<String, IdempotencyKey> recentKeys;
+    private final ConcurrentHashMap<String, CompletableFuture<IdempotencyKey>> inFlight = new ConcurrentHashMap<>();
+    private final long ttlMs;
+    private final long waitTimeoutMs;
+
+    public OrderIdempotencyService(OrderService orderService, OrderAdmissionControl admissionControl,
+                                   IdempotencyKeyRepository keyRepository, ObjectMapper objectMapper,
+                                   PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                   @Value("${order.idempotency.cache-size:10000}") int cacheSize,
+                                   @Value("${order.idempotency.ttl-ms:86400000}") long ttlMs,
+                                   @Value("${order.idempotency.wait-timeout-ms:30000}") long waitTimeoutMs) {
+        this.orderService = orderService;
+        this.admissionControl = admissionControl;
+        this.keyRepository = keyRepository;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.replays = Counter.builder("orders.idempotency.replays")
+                              .description("Order creations answered with the response stored for their idempotency key")
+                              .register(meterRegistry);
+        this.recentKeys = new BoundedTtlCache<>(cacheSize, ttlMs, TimeUnit.MILLISECONDS);
+        this.ttlMs = ttlMs;
+        this.waitTimeoutMs = waitTimeoutMs;
+    }
+
+    public OrderResponseDTO createOrder(String key, OrderRequestDTO orderRequest) {
+        String requestHash = hash(orderRequest);
+        while (true) {
+            CompletableFuture<IdempotencyKey> mine = new CompletableFuture<>();
+            CompletableFuture<IdempotencyKey> first = inFlight.putIfAbsent(key, mine);
+            if (first != null) {
+                IdempotencyKey completed = await(key, first);
+                if (completed == null) {
+                    continue;
+                }
+                return replay(completed, requestHash);
+            }
+
+            try {
+                IdempotencyKey stored = recentKeys.get(key, this::loadStored);
+                if (stored != null) {
+                    mine.complete(stored);
+                    return replay(stored, requestHash);
+                }
+                admissionControl.admit();
+                IdempotencyKey created = createAndRecord(key, requestHash, orderRequest);
+                recentKeys.put(key, created);
+                mine.complete(created);
+                return readResponse(created);
+            } catch (DataIntegrityViolationException e) {
+                // Another instance recorded the key first; its order stands and ours was rolled back.
+                IdempotencyKey winner = loadStored(key);
+                if (winner == null) {
+                    mine.completeExceptionally(e);
+                    throw e;
+                }
+                recentKeys.put(key, winner);
+                mine.complete(winner);
+                return replay(winner, requestHash);
+            } catch (RuntimeException e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        }
+    }
+
+    /**
+     * @return the key recorded by the request being waited for, or {@code null} if that request failed and
+     * the caller should try to create the order itself
+     */
+    private IdempotencyKey await(String key, CompletableFuture<IdempotencyKey> first) {
+        try {
+            return first.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            return null;
+        } catch (TimeoutException e) {
+            throw new OrderConflictException("A request with idempotency key " + key + " is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OrderConflictException("Interrupted while waiting for idempotency key " + key);
+        }
+    }
+
+    private IdempotencyKey createAndRecord(String key, String requestHash, OrderRequestDTO orderRequest) {
+        return transaction.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            keyRepository.deleteIfExpired(key, now);
+            OrderResponseDTO created = orderService.createOrder(orderRequest);
+            return keyRepository.saveAndFlush(IdempotencyKey.builder()
+                                                            .key(key)
+                                                            .requestHash(requestHash)
+                                                            .orderId(created.getId())
+                                                            .response(writeResponse(created))
+                                                            .createdAt(now)
+                                                            .expiresAt(now.plusNanos(ttlMs * 1_000_000))
+                                                            .build());
+        });
+    }
+
+    private IdempotencyKey loadStored(String key) {
+        return keyRepository.findActive(key, LocalDateTime.now()).orElse(null);
+    }
+
+    private OrderResponseDTO replay(IdempotencyKey stored, String requestHash) {
+        if (!stored.getRequestHash().equals(requestHash)) {
+            throw new IdempotencyKeyMismatchException("Idempotency key " + stored.getKey() + " was already used for a different order");
+        }
+        replays.increment();
+        log.info("Replaying order {} for idempotency key {}", stored.getOrderId(), stored.getKey());
+        return readResponse(stored);
+    }
+
+    /**
+     * Deletes expired keys in chunks, each in its own short transaction.
+     */
+    @Scheduled(fixedDelayString = "${order.idempotency.cleanup-interval-ms:600000}")
+    public void deleteExpiredKeys() {
+        LocalDateTime now = LocalDateTime.now();
+        long deleted = 0;
+        Integer chunk;
+        do {
+            chunk = transaction.execute(status -> keyRepository.deleteExpired(now, CLEANUP_CHUNK));
+            deleted += chunk == null ? 0 : chunk;
+        } while (chunk != null && chunk == CLEANUP_CHUNK);
+        if (deleted > 0) {
+            log.info("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    private String hash(OrderRequestDTO orderRequest) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(orderRequest)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash order request", e);
+        }
+    }
+
+    private String writeResponse(OrderResponseDTO response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize order " + response.getId(), e);
+        }
+    }
+
+    private OrderResponseDTO readResponse(IdempotencyKey stored) {
+        try {
+            return objectMapper.readValue(stored.getResponse(), OrderResponseDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read stored response of order " + stored.getOrderId(), e);
+        }
+    }
+}
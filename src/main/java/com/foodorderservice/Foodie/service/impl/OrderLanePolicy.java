@@ -0,0 +1,48 @@
+package com.foodorderservice.Foodie.service.impl;
+
+import com.foodorderservice.Foodie.entity.Order;
+import com.foodorderservice.Foodie.entity.OrderItem;
+import com.foodorderservice.Foodie.entity.OrderOutbox;
+import com.foodorderservice.Foodie.entity.enums.OrderLane;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Decides the scheduling lane of a new order and its deadline: {@code orderTime} plus the lane's SLA.
+ * Orders with at least {@code bulk-min-items} items in total (e.g. catering) go to {@link OrderLane#BULK}.
+ */
+@Component
+public class OrderLanePolicy {
+
+    @Value("${order.scheduling.bulk-min-items:20}")
+    private int bulkMinItems;
+
+    @Value("${order.scheduling.normal-sla-ms:600000}")
+    private long normalSlaMs;
+
+    @Value("${order.scheduling.bulk-sla-ms:1800000}")
+    private long bulkSlaMs;
+
+    public OrderLane laneFor(Order order) {
+        int quantity = 0;
+        for (OrderItem item : order.getItems()) {
+            quantity += item.getQuantity() == null ? 0 : item.getQuantity();
+        }
+        return quantity >= bulkMinItems ? OrderLane.BULK : OrderLane.NORMAL;
+    }
+
+    public LocalDateTime deadlineFor(Order order, OrderLane lane) {
+        long slaMs = lane == OrderLane.BULK ? bulkSlaMs : normalSlaMs;
+        return order.getOrderTime().plusNanos(slaMs * 1_000_000);
+    }
+
+    /**
+     * Outbox entry for a saved order, carrying its lane and deadline.
+     */
+    public OrderOutbox outboxFor(Order order) {
+        OrderLane lane = laneFor(order);
+        return OrderOutbox.forOrder(order.getId(), lane, deadlineFor(order, lane));
+    }
+}
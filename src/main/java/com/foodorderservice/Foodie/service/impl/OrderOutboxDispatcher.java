@@ -0,0 +1,65 @@
+package com.foodorderservice.Foodie.service.impl;
+
+import com.foodorderservice.Foodie.entity.enums.OrderLane;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves committed orders from the outbox into the processing queue. Delivery is at-least-once:
+ * a claimed row stays in the outbox until processing of the order begins, and is handed out again
+ * once its lease expires.
+ * <p>
+ * Each lane is claimed on its own, earliest deadline first and no more than it has room for, so a burst
+ * in one lane neither occupies the claims of the other nor keeps its orders waiting in the outbox.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderOutboxDispatcher {
+
+    private final OrderOutboxService outboxService;
+    private final QueueService queueService;
+
+    @Scheduled(fixedDelayString = "${order.outbox.poll-interval-ms:200}")
+    public void dispatch() {
+        boolean more;
+        do {
+            more = false;
+            for (OrderLane lane : OrderLane.values()) {
+                more |= dispatch(lane);
+            }
+        } while (more);
+    }
+
+    /**
+     * @return whether the lane took all it had room for, so more of its orders may be waiting
+     */
+    private boolean dispatch(OrderLane lane) {
+        int room = Math.min(queueService.remainingCapacity(lane), outboxService.getBatchSize());
+        if (room <= 0) {
+            return false;
+        }
+        List<OrderOutboxService.Claim> claimed = outboxService.claimBatch(lane, room);
+        // Consumers and other lanes share the queue, so the room seen above is only an estimate.
+        List<Long> rejected = new ArrayList<>();
+        for (OrderOutboxService.Claim claim : claimed) {
+            if (!queueService.offerOrder(claim.orderId(), claim.lane(), claim.deadline())) {
+                rejected.add(claim.orderId());
+            }
+        }
+        if (!rejected.isEmpty()) {
+            outboxService.release(rejected);
+            log.debug("{} lane full, {} outbox entries left for the next poll", lane, rejected.size());
+            return false;
+        }
+        if (!claimed.isEmpty()) {
+            log.debug("Dispatched {} {} orders from the outbox", claimed.size(), lane);
+        }
+        return claimed.size() == room;
+    }
+}
@@ -0,0 +1,75 @@
+package com.foodorderservice.Foodie.service.impl;
+
+import com.foodorderservice.Foodie.entity.enums.OrderLane;
+import com.foodorderservice.Foodie.repository.OrderOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class OrderOutboxService {
+
+    private final OrderOutboxRepository outboxRepository;
+    private final OrderPartitionLeases partitionLeases;
+
+    @Value("${order.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${order.outbox.lease-ms:300000}")
+    private long leaseMs;
+
+    /**
+     * Locks up to {@code limit} due outbox rows of {@code lane}, earliest deadline first, skipping rows
+     * claimed by concurrent dispatchers, and leases them so they are not handed out again unless processing
+     * fails to start within the lease. Only rows in the order partitions this node owns are claimed.
+     */
+    public List<Claim> claimBatch(OrderLane lane, int limit) {
+        List<Integer> partitions = partitionLeases.ownedPartitions();
+        if (partitions.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Claim> claims = outboxRepository.lockAvailable(lane.name(), now, partitionLeases.partitionCount(), partitions,
+                                                      Math.min(limit, batchSize)).stream()
+                                             .map(OrderOutboxService::toClaim)
+                                             .toList();
+        if (!claims.isEmpty()) {
+            outboxRepository.lease(claims.stream().map(Claim::orderId).toList(), now.plusNanos(leaseMs * 1_000_000));
+        }
+        return claims;
+    }
+
+    private static Claim toClaim(Object[] row) {
+        LocalDateTime deadline = row[2] instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) row[2];
+        return new Claim(((Number) row[0]).longValue(),
+                         OrderLane.valueOf(row[1].toString()),
+                         deadline.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    /**
+     * Makes claimed rows immediately available again, e.g. when the processing queue was full.
+     */
+    public void release(List<Long> orderIds) {
+        if (!orderIds.isEmpty()) {
+            outboxRepository.release(orderIds, LocalDateTime.now());
+        }
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * A leased outbox row: the order with its scheduling lane and deadline in epoch millis.
+     */
+    public record Claim(long orderId, OrderLane lane, long deadline) {
+    }
+}
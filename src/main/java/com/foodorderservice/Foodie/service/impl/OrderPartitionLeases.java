@@ -0,0 +1,266 @@
+package com.foodorderservice.Foodie.service.impl;
+
+import com.foodorderservice.Foodie.dtos.OrderPartitionsAcquiredEvent;
+import com.foodorderservice.Foodie.entity.ProcessingLease;
+import com.foodorderservice.Foodie.entity.ProcessingNode;
+import com.foodorderservice.Foodie.repository.OrderOutboxRepository;
+import com.foodorderservice.Foodie.repository.ProcessingLeaseRepository;
+import com.foodorderservice.Foodie.repository.ProcessingNodeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits order processing between the application instances sharing one database. Orders are partitioned by
+ * {@code order_id % partitions}; each node leases a fair share of the partitions in {@code processing_leases}
+ * and only dispatches and recovers orders in those. A heartbeat extends the node's leases, registers it in
+ * {@code processing_nodes} and rebalances: a node holding more than its share releases the surplus, and a node
+ * holding less takes free or expired partitions. The partitions of a node that stops heartbeating are therefore
+ * taken over once its leases run out; their outbox entries are released at once and recovery runs for them.
+ * <p>
+ * A node whose heartbeat has not succeeded for a whole lease considers itself the owner of nothing, so it
+ * stops claiming work before another node can take its partitions over. Status transitions are conditional
+ * updates anyway, so an order picked up twice around a takeover is still processed once.
+ */
+@Component
+@Slf4j
+public class OrderPartitionLeases {
+
+    private static final List<Integer> ALL = List.of(0);
+
+    private final ProcessingLeaseRepository leaseRepository;
+    private final ProcessingNodeRepository nodeRepository;
+    private final OrderOutboxRepository outboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+    private final Counter takeovers;
+
+    private final boolean enabled;
+    private final int partitions;
+    private final String nodeId;
+    private final long heartbeatMs;
+    private final long leaseMs;
+
+    private final ScheduledExecutorService heartbeatTimer =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("OrderPartitionLeases-"));
+
+    private volatile Owned owned = new Owned(List.of(), System.nanoTime());
+
+    private record Owned(List<Integer> partitions, long validUntilNanos) {
+    }
+
+    public OrderPartitionLeases(ProcessingLeaseRepository leaseRepository, ProcessingNodeRepository nodeRepository,
+                                OrderOutboxRepository outboxRepository, ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                @Value("${order.partitioning.enabled:true}") boolean enabled,
+                                @Value("${order.partitioning.partitions:16}") int partitions,
+                                @Value("${order.partitioning.node-id:}") String nodeId,
+                                @Value("${order.partitioning.heartbeat-ms:2000}") long heartbeatMs,
+                                @Value("${order.partitioning.lease-ms:10000}") long leaseMs) {
+        if (leaseMs <= heartbeatMs) {
+            throw new IllegalArgumentException("order.partitioning.lease-ms must be longer than heartbeat-ms");
+        }
+        this.leaseRepository = leaseRepository;
+        this.nodeRepository = nodeRepository;
+        this.outboxRepository = outboxRepository;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.partitions = partitions;
+        this.nodeId = nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.heartbeatMs = heartbeatMs;
+        this.leaseMs = leaseMs;
+
+        this.takeovers = Counter.builder("orders.partitions.takeovers")
+                                .description("Order partitions taken over from a node whose lease had expired")
+                                .register(meterRegistry);
+        Gauge.builder("orders.partitions.owned", this, leases -> leases.ownedPartitions().size())
+             .description("Order partitions currently leased by this node")
+             .register(meterRegistry);
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Takes this node's first share before the application is ready, so startup recovery already sees it.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        createMissingPartitions();
+        heartbeat(false);
+        heartbeatTimer.scheduleWithFixedDelay(() -> heartbeat(true), heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        log.info("Node {} started with order partitions {} of {}", nodeId, owned.partitions(), partitions);
+    }
+
+    /**
+     * Number of partitions orders are split into; 1 when partitioning is disabled.
+     */
+    public int partitionCount() {
+        return enabled ? partitions : 1;
+    }
+
+    /**
+     * Partitions this node may work on right now, for filtering with {@code MOD(order_id, partitionCount())};
+     * empty if the last successful heartbeat is older than the lease.
+     */
+    public List<Integer> ownedPartitions() {
+        if (!enabled) {
+            return ALL;
+        }
+        Owned current = owned;
+        return System.nanoTime() - current.validUntilNanos() < 0 ? current.partitions() : List.of();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void createMissingPartitions() {
+        Set<Integer> existing = new HashSet<>(leaseRepository.findAllPartitionIds());
+        for (int partition = 0; partition < partitions; partition++) {
+            if (existing.contains(partition)) {
+                continue;
+            }
+            ProcessingLease lease = ProcessingLease.builder()
+                                                   .partitionId(partition)
+                                                   .leaseUntil(LocalDateTime.now())
+                                                   .build();
+            try {
+                transaction.executeWithoutResult(status -> leaseRepository.saveAndFlush(lease));
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Partition {} was created by another node", partition);
+            }
+        }
+    }
+
+    private void heartbeat(boolean announceAcquired) {
+        try {
+            long startNanos = System.nanoTime();
+            List<Integer> previous = owned.partitions();
+            List<Integer> current = transaction.execute(status -> renewAndRebalance());
+            owned = new Owned(current, startNanos + TimeUnit.MILLISECONDS.toNanos(leaseMs));
+
+            List<Integer> acquired = new ArrayList<>(current);
+            acquired.removeAll(previous);
+            if (!acquired.isEmpty()) {
+                log.info("Node {} acquired order partitions {}", nodeId, acquired);
+                if (announceAcquired) {
+                    eventPublisher.publishEvent(new OrderPartitionsAcquiredEvent(List.copyOf(acquired)));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Partition heartbeat of node {} failed, keeping {} until the lease runs out", nodeId, owned.partitions(), e);
+        }
+    }
+
+    private List<Integer> renewAndRebalance() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plusNanos(leaseMs * 1_000_000);
+        LocalDateTime staleBefore = now.minusNanos(leaseMs * 1_000_000);
+
+        if (nodeRepository.touch(nodeId, now) == 0) {
+            nodeRepository.save(ProcessingNode.builder().nodeId(nodeId).heartbeatAt(now).build());
+        }
+        nodeRepository.deleteStale(staleBefore);
+        long liveNodes = Math.max(1, nodeRepository.countByHeartbeatAtAfter(staleBefore));
+        int share = (int) ((partitions + liveNodes - 1) / liveNodes);
+
+        leaseRepository.renew(nodeId, now, leaseUntil);
+        List<Integer> held = new ArrayList<>(leaseRepository.findOwned(nodeId, now, partitions));
+        if (held.size() > share) {
+            List<Integer> surplus = List.copyOf(held.subList(share, held.size()));
+            leaseRepository.release(surplus, nodeId, now);
+            held.removeAll(surplus);
+            log.info("Node {} released order partitions {} for rebalancing", nodeId, surplus);
+            return held;
+        }
+
+        List<Integer> takenOver = new ArrayList<>();
+        for (ProcessingLease candidate : leaseRepository.findClaimable(now, partitions)) {
+            if (held.size() >= share) {
+                break;
+            }
+            if (leaseRepository.acquire(candidate.getPartitionId(), nodeId, now, leaseUntil) == 1) {
+                held.add(candidate.getPartitionId());
+                if (candidate.getOwner() != null && !candidate.getOwner().equals(nodeId)) {
+                    takenOver.add(candidate.getPartitionId());
+                    log.warn("Node {} took over order partition {} from {}", nodeId, candidate.getPartitionId(), candidate.getOwner());
+                }
+            }
+        }
+        if (!takenOver.isEmpty()) {
+            // The previous owner can no longer hand these to its queue; don't wait for their outbox leases to expire.
+            outboxRepository.releasePartitions(partitions, takenOver, now);
+            takeovers.increment(takenOver.size());
+        }
+        held.sort(null);
+        return held;
+    }
+
+    /**
+     * Hands this node's partitions and their leased outbox entries back right away instead of letting other
+     * nodes wait for the leases to expire.
+     */
+    @PreDestroy
+    public void shutdown() {
+        heartbeatTimer.shutdown();
+        if (!enabled) {
+            return;
+        }
+        try {
+            // A heartbeat still running could otherwise renew the leases after they were released.
+            heartbeatTimer.awaitTermination(leaseMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Integer> released = ownedPartitions();
+        owned = new Owned(List.of(), System.nanoTime());
+        try {
+            transaction.executeWithoutResult(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                if (!released.isEmpty()) {
+                    leaseRepository.release(released, nodeId, now);
+                    outboxRepository.releasePartitions(partitions, released, now);
+                }
+                nodeRepository.deleteById(nodeId);
+            });
+            log.info("Node {} released order partitions {}", nodeId, released);
+        } catch (RuntimeException e) {
+            log.warn("Node {} could not release its order partitions, they free up when the leases expire", nodeId, e);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.foodorderservice.Foodie.service.impl;
+
+import com.foodorderservice.Foodie.config.OrderQueue;
+import com.foodorderservice.Foodie.dtos.OrderCreatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for the order lifecycle: queue depth, enqueue outcomes, lifecycle event counts and a latency
+ * histogram per stage (create → enqueue, queue wait, PENDING → PROCESSING, PROCESSING → PROCESSED).
+ * All meters are registered up front and stage entry times are kept in {@link StageClock}s, so recording
+ * allocates nothing; only failures look up a counter by exception type.
+ */
+@Component
+public class OrderPipelineMetrics {
+
+    private static final String FAILURES = "orders.processing.failures";
+
+    private final MeterRegistry meterRegistry;
+
+    private final StageClock createdAt;
+    private final StageClock enqueuedAt;
+    private final StageClock startedAt;
+
+    private final Timer createToEnqueue;
+    private final Timer queueWait;
+    private final Timer pendingToProcessing;
+    private final Timer processingToProcessed;
+
+    private final Counter created;
+    private final Counter enqueued;
+    private final Counter dequeued;
+    private final Counter started;
+    private final Counter processed;
+    private final Counter enqueueRejected;
+
+    public OrderPipelineMetrics(MeterRegistry meterRegistry, OrderQueue orderQueue,
+                                @Value("${order.metrics.stage-clock-capacity:65536}") int clockCapacity) {
+        this.meterRegistry = meterRegistry;
+        this.createdAt = new StageClock(clockCapacity);
+        this.enqueuedAt = new StageClock(clockCapacity);
+        this.startedAt = new StageClock(clockCapacity);
+
+        Gauge.builder("orders.queue.depth", orderQueue, OrderQueue::size)
+             .description("Orders waiting in the processing queue")
+             .register(meterRegistry);
+
+        this.createToEnqueue = stageTimer("create_to_enqueue");
+        this.queueWait = stageTimer("queue_wait");
+        this.pendingToProcessing = stageTimer("pending_to_processing");
+        this.processingToProcessed = stageTimer("processing_to_processed");
+
+        this.created = lifecycleCounter("created");
+        this.enqueued = lifecycleCounter("enqueued");
+        this.dequeued = lifecycleCounter("dequeued");
+        this.started = lifecycleCounter("started");
+        this.processed = lifecycleCounter("processed");
+
+        this.enqueueRejected = Counter.builder("orders.queue.rejected")
+                                      .description("Non-blocking enqueue attempts refused because the queue was full")
+                                      .register(meterRegistry);
+    }
+
+    private Timer stageTimer(String stage) {
+        return Timer.builder("orders.stage.duration")
+                    .description("Time an order spent in a lifecycle stage")
+                    .tag("stage", stage)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+    }
+
+    private Counter lifecycleCounter(String event) {
+        return Counter.builder("orders.lifecycle")
+                      .description("Orders passing a lifecycle point")
+                      .tag("event", event)
+                      .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCreated(OrderCreatedEvent event) {
+        createdAt.mark(event.orderId(), System.nanoTime());
+        created.increment();
+    }
+
+    public void enqueued(long orderId) {
+        long now = System.nanoTime();
+        record(createToEnqueue, createdAt.elapsed(orderId, now));
+        enqueuedAt.mark(orderId, now);
+        enqueued.increment();
+    }
+
+    public void enqueueRejected() {
+        enqueueRejected.increment();
+    }
+
+    public void dequeued(List<Long> orderIds) {
+        long now = System.nanoTime();
+        for (int i = 0; i < orderIds.size(); i++) {
+            record(queueWait, enqueuedAt.elapsedAndClear(orderIds.get(i), now));
+        }
+        dequeued.increment(orderIds.size());
+    }
+
+    public void started(List<Long> orderIds) {
+        long now = System.nanoTime();
+        for (int i = 0; i < orderIds.size(); i++) {
+            long orderId = orderIds.get(i);
+            record(pendingToProcessing, createdAt.elapsedAndClear(orderId, now));
+            startedAt.mark(orderId, now);
+        }
+        started.increment(orderIds.size());
+    }
+
+    public void processed(List<Long> orderIds) {
+        long now = System.nanoTime();
+        for (int i = 0; i < orderIds.size(); i++) {
+            record(processingToProcessed, startedAt.elapsedAndClear(orderIds.get(i), now));
+        }
+        processed.increment(orderIds.size());
+    }
+
+    public void failed(String stage, Throwable failure) {
+        meterRegistry.counter(FAILURES, "stage", stage, "exception", failure.getClass().getSimpleName()).increment();
+    }
+
+    private static void record(Timer timer, long nanos) {
+        if (nanos >= 0) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
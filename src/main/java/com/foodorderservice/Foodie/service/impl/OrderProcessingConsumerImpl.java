@@ -1,45 +1,89 @@
 package com.foodorderservice.Foodie.service.impl;
 
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Takes batches of order ids off the queue and hands each shard's share to the owning worker. The loop runs on
+ * a thread of its own for the lifetime of the application, so it never holds a thread of the {@code @Async}
+ * executor that startup and partition recovery run on.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class OrderProcessingConsumerImpl {
 
     private final QueueService queueService;
-    private final OrderServiceImpl orderServiceImpl;
+    private final OrderProcessingPipeline processingPipeline;
+    private final OrderWorkerPool workerPool;
+    private final CustomizableThreadFactory consumerThreadFactory = new CustomizableThreadFactory("OrderConsumer-");
     private volatile boolean running = true;
+    private volatile Thread consumerThread;
+
+    @Value("${order.processing.batch-size:50}")
+    private int batchSize;
+
+    @Value("${order.processing.drain-timeout-ms:10000}")
+    private long drainTimeoutMs;
 
     @EventListener(ApplicationReadyEvent.class)
-    @Async
     public void startProcessing() {
+        workerPool.start();
+        Thread thread = consumerThreadFactory.newThread(this::consume);
+        consumerThread = thread;
+        thread.start();
         log.info("Order processing consumer started");
+    }
 
+    private void consume() {
         while (running) {
             try {
-                Long orderId = queueService.receiveOrder();
-                log.info("Received order {} from queue for processing", orderId);
+                List<Long> orderIds = queueService.receiveOrders(batchSize);
+                log.info("Received {} orders from queue for processing", orderIds.size());
 
-                try {
-                    orderServiceImpl.processOrder(orderId);
-                } catch (Exception e) {
-                    log.error("Error processing order {}: {}", orderId, e.getMessage());
+                Map<Integer, List<Long>> byShard = orderIds.stream().collect(Collectors.groupingBy(workerPool::shardOf));
+                for (List<Long> shardOrderIds : byShard.values()) {
+                    workerPool.dispatch(shardOrderIds.get(0), () -> processingPipeline.process(shardOrderIds));
                 }
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 log.info("Order processing consumer interrupted");
                 break;
+            } catch (IllegalStateException e) {
+                log.info("Order worker pool no longer accepting work, consumer exiting");
+                break;
             }
         }
     }
 
+    /**
+     * Ends the loop, which is blocked on the queue most of the time, before the worker pool is drained.
+     * Orders taken but not yet dispatched stay in the outbox and are handed out again.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void onContextClosed() {
+        running = false;
+        Thread thread = consumerThread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @PreDestroy
     public void stop() {
         running = false;
+        workerPool.drain(drainTimeoutMs, TimeUnit.MILLISECONDS);
     }
 }
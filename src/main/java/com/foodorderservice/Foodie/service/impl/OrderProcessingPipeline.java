@@ -0,0 +1,105 @@
+package com.foodorderservice.Foodie.service.impl;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives batches of orders through their processing stages. Each stage is one short transaction with a
+ * set-based status update, run on the worker owning the batch's shard; the delay between stages is a
+ * timer entry rather than a sleeping thread, so orders waiting in PROCESSING hold neither a worker nor a
+ * database connection.
+ */
+@Component
+@Slf4j
+public class OrderProcessingPipeline {
+
+    private static final long REDISPATCH_BACKOFF_MS = 50;
+
+    private final OrderServiceImpl orderServiceImpl;
+    private final OrderWorkerPool workerPool;
+    private final OrderPipelineMetrics metrics;
+    private final DistributionSummary beginRows;
+    private final DistributionSummary completeRows;
+
+    private final ScheduledExecutorService stageTimer =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("OrderStageTimer-"));
+
+    @Value("${order.processing.delay-ms:5000}")
+    private long processingDelayMs;
+
+    public OrderProcessingPipeline(OrderServiceImpl orderServiceImpl, OrderWorkerPool workerPool, OrderPipelineMetrics metrics,
+                                   MeterRegistry meterRegistry) {
+        this.orderServiceImpl = orderServiceImpl;
+        this.workerPool = workerPool;
+        this.metrics = metrics;
+        this.beginRows = rowsPerStatement(meterRegistry, "begin");
+        this.completeRows = rowsPerStatement(meterRegistry, "complete");
+    }
+
+    private static DistributionSummary rowsPerStatement(MeterRegistry meterRegistry, String stage) {
+        return DistributionSummary.builder("orders.processing.batch.rows")
+                                  .description("Orders moved by one set-based status update")
+                                  .tag("stage", stage)
+                                  .register(meterRegistry);
+    }
+
+    /**
+     * Runs the PENDING → PROCESSING stage for a batch and schedules PROCESSING → PROCESSED for the orders
+     * that actually started. Must be called on the worker owning the batch's shard.
+     */
+    public void process(List<Long> orderIds) {
+        List<Long> started;
+        try {
+            started = orderServiceImpl.beginProcessing(orderIds);
+        } catch (RuntimeException e) {
+            metrics.failed("begin", e);
+            throw e;
+        }
+        beginRows.record(started.size());
+        metrics.started(started);
+        if (!started.isEmpty()) {
+            stageTimer.schedule(() -> dispatchCompletion(started), processingDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void dispatchCompletion(List<Long> orderIds) {
+        if (workerPool.offer(orderIds.get(0), () -> complete(orderIds))) {
+            return;
+        }
+        if (!workerPool.isRunning()) {
+            log.warn("Worker pool stopped, orders {} left in PROCESSING", orderIds);
+            return;
+        }
+        stageTimer.schedule(() -> dispatchCompletion(orderIds), REDISPATCH_BACKOFF_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void complete(List<Long> orderIds) {
+        List<Long> processed;
+        try {
+            processed = orderServiceImpl.completeProcessing(orderIds);
+        } catch (RuntimeException e) {
+            metrics.failed("complete", e);
+            throw e;
+        }
+        completeRows.record(processed.size());
+        metrics.processed(processed);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        int pending = stageTimer.shutdownNow().size();
+        if (pending > 0) {
+            log.warn("Order stage timer stopped with {} batches still waiting to complete", pending);
+        }
+    }
+}
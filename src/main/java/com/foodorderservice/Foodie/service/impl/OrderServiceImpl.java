@@ -1,37 +1,82 @@
 package com.foodorderservice.Foodie.service.impl;
 
 
+import com.foodorderservice.Foodie.cache.OrderReadCache;
+import com.foodorderservice.Foodie.cache.OrderStatusIndex;
 import com.foodorderservice.Foodie.dtos.*;
 import com.foodorderservice.Foodie.entity.Order;
 import com.foodorderservice.Foodie.entity.OrderItem;
 import com.foodorderservice.Foodie.entity.enums.OrderStatus;
 import com.foodorderservice.Foodie.exception.InvalidOrderStateException;
+import com.foodorderservice.Foodie.exception.OrderConflictException;
 import com.foodorderservice.Foodie.exception.OrderNotFoundException;
 import com.foodorderservice.Foodie.mapper.OrderMapper;
+import com.foodorderservice.Foodie.repository.OrderOutboxRepository;
 import com.foodorderservice.Foodie.repository.OrderRepository;
 import com.foodorderservice.Foodie.service.OrderService;
-import lombok.RequiredArgsConstructor;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 @Transactional
 public class OrderServiceImpl implements OrderService {
+    private static final int MAX_CURSOR_PAGE_SIZE = 500;
+
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final OrderLanePolicy lanePolicy;
+    private final Validator validator;
+    private final OrderStatusTransitions statusTransitions;
+    private final OrderReadCache orderReadCache;
+    private final OrderStatusIndex orderStatusIndex;
     private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readTransaction;
+
+    @Value("${order.batch.max-size:500}")
+    private int maxBatchSize;
+
+    public OrderServiceImpl(OrderRepository orderRepository, OrderMapper orderMapper,
+                            OrderOutboxRepository orderOutboxRepository, OrderLanePolicy lanePolicy, Validator validator,
+                            OrderStatusTransitions statusTransitions, OrderReadCache orderReadCache,
+                            OrderStatusIndex orderStatusIndex, ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.orderMapper = orderMapper;
+        this.orderOutboxRepository = orderOutboxRepository;
+        this.lanePolicy = lanePolicy;
+        this.validator = validator;
+        this.statusTransitions = statusTransitions;
+        this.orderReadCache = orderReadCache;
+        this.orderStatusIndex = orderStatusIndex;
+        this.eventPublisher = eventPublisher;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
 
     public OrderResponseDTO createOrder(OrderRequestDTO orderRequest) {
         log.info("Creating new order for customer: {}", orderRequest.getCustomerName());
@@ -43,6 +88,7 @@ public class OrderServiceImpl implements OrderService {
         }
         Order order = orderMapper.toEntity(orderRequest);
         order.setStatus(OrderStatus.PENDING);
+        order.setOrderTime(LocalDateTime.now());
 
 
         for (OrderItem item : order.getItems()) {
@@ -53,20 +99,93 @@ public class OrderServiceImpl implements OrderService {
         log.info("Order created with ID: {}", savedOrder.getId());
 
 
-        eventPublisher.publishEvent(new OrderCreatedEvent(savedOrder.getId()));
+        orderOutboxRepository.save(lanePolicy.outboxFor(savedOrder));
+        publishCreated(savedOrder);
 
         return orderMapper.toResponseDTO(savedOrder);
     }
 
 
+    /**
+     * Validates every order on its own and inserts the valid ones in one transaction using JDBC batching.
+     * Invalid orders are reported per index and do not fail the rest of the batch.
+     */
+    public BatchOrderResponseDTO createOrders(List<OrderRequestDTO> orderRequests) {
+        if (orderRequests == null || orderRequests.isEmpty() || orderRequests.size() > maxBatchSize) {
+            throw new InvalidOrderStateException("Batch must contain between 1 and " + maxBatchSize + " orders");
+        }
+        log.info("Creating batch of {} orders", orderRequests.size());
+
+        BatchOrderResultDTO[] results = new BatchOrderResultDTO[orderRequests.size()];
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<Order> acceptedOrders = new ArrayList<>();
+        LocalDateTime orderTime = LocalDateTime.now();
+
+        for (int i = 0; i < orderRequests.size(); i++) {
+            List<String> errors = validateBatchEntry(orderRequests.get(i));
+            if (!errors.isEmpty()) {
+                results[i] = BatchOrderResultDTO.builder().index(i).success(false).errors(errors).build();
+                continue;
+            }
+            Order order = orderMapper.toEntity(orderRequests.get(i));
+            order.setStatus(OrderStatus.PENDING);
+            order.setOrderTime(orderTime);
+            for (OrderItem item : order.getItems()) {
+                item.setOrder(order);
+            }
+            acceptedIndexes.add(i);
+            acceptedOrders.add(order);
+        }
+
+        List<Order> savedOrders = orderRepository.saveAll(acceptedOrders);
+        orderOutboxRepository.saveAll(savedOrders.stream()
+                                                 .map(lanePolicy::outboxFor)
+                                                 .toList());
+        savedOrders.forEach(this::publishCreated);
+
+        for (int i = 0; i < savedOrders.size(); i++) {
+            int index = acceptedIndexes.get(i);
+            results[index] = BatchOrderResultDTO.builder()
+                                                .index(index)
+                                                .success(true)
+                                                .order(orderMapper.toResponseDTO(savedOrders.get(i)))
+                                                .build();
+        }
+        log.info("Batch created {} orders, rejected {}", savedOrders.size(), orderRequests.size() - savedOrders.size());
+
+        return BatchOrderResponseDTO.builder()
+                                    .created(savedOrders.size())
+                                    .rejected(orderRequests.size() - savedOrders.size())
+                                    .results(List.of(results))
+                                    .build();
+    }
+
+    private void publishCreated(Order order) {
+        eventPublisher.publishEvent(new OrderCreatedEvent(order.getId(), order.getStatus(), order.getOrderTime(),
+                order.getTotalAmount()));
+    }
+
+    private List<String> validateBatchEntry(OrderRequestDTO orderRequest) {
+        List<String> errors = new ArrayList<>();
+        if (orderRequest == null) {
+            errors.add("Order must not be null");
+            return errors;
+        }
+        for (ConstraintViolation<OrderRequestDTO> violation : validator.validate(orderRequest)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        if (errors.isEmpty() && calculateTotalAmount(orderRequest.getItems()).compareTo(orderRequest.getTotalAmount()) != 0) {
+            errors.add("Total amount does not match sum of items");
+        }
+        return errors;
+    }
+
     public PageResponseDTO<OrderResponseDTO> getAllOrders(Pageable pageable) {
         log.info("Fetching orders - page: {}, size: {}", pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<Order> orderPage = orderRepository.findAll(pageable);
+        Page<Long> orderPage = orderRepository.findPageOfIds(pageable);
 
-        List<OrderResponseDTO> orderDTOs = orderPage.getContent().stream()
-                                                    .map(order -> orderMapper.toResponseDTO(order))
-                                                    .collect(Collectors.toList());
+        List<OrderResponseDTO> orderDTOs = findWithItems(orderPage.getContent());
 
         return PageResponseDTO.<OrderResponseDTO>builder()
                                               .content(orderDTOs)
@@ -79,88 +198,219 @@ public class OrderServiceImpl implements OrderService {
                                               .build();
     }
 
+    @Override
+    public CursorPageResponseDTO<OrderResponseDTO> getOrdersByCursor(String cursor, int size, Sort.Direction direction,
+                                                                      CursorPageResponseDTO.CountMode countMode) {
+        size = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        OrderCursor position = cursor == null || cursor.isBlank() ? null : OrderCursor.decode(cursor);
+        Sort.Direction walk = position != null ? position.direction() : direction;
+        log.info("Fetching orders by cursor - size: {}, direction: {}, count: {}", size, walk, countMode);
+
+        // One extra row tells whether another page follows without counting.
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Long> ids;
+        if (walk == Sort.Direction.DESC) {
+            ids = position == null ? orderRepository.findFirstIdsNewestFirst(limit)
+                    : orderRepository.findIdsBefore(position.orderTime(), position.id(), limit);
+        } else {
+            ids = position == null ? orderRepository.findFirstIdsOldestFirst(limit)
+                    : orderRepository.findIdsAfter(position.orderTime(), position.id(), limit);
+        }
 
-    public OrderResponseDTO getOrderById(Long id) {
-        log.info("Fetching order with ID: {}", id);
-
-        Order order = orderRepository.findByIdWithItems(id)
-                                     .orElseThrow(() -> new OrderNotFoundException("Order not found with ID: " + id));
+        CursorPageResponseDTO<OrderResponseDTO> page = cursorPage(ids, size, walk);
+        page.setTotalElements(countOrders(countMode));
+        page.setCountMode(countMode);
+        return page;
+    }
 
-        return orderMapper.toResponseDTO(order);
+    @Override
+    public CursorPageResponseDTO<OrderResponseDTO> searchOrders(OrderSearchCriteria criteria, String cursor, int size,
+                                                                 Sort.Direction direction) {
+        size = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        OrderCursor position = cursor == null || cursor.isBlank() ? null : OrderCursor.decode(cursor);
+        Sort.Direction walk = position != null ? position.direction() : direction;
+        log.info("Searching orders - criteria: {}, size: {}, direction: {}", criteria, size, walk);
+
+        List<Long> ids = orderRepository.searchIds(criteria, walk,
+                position != null ? position.orderTime() : null, position != null ? position.id() : null, size + 1);
+        return cursorPage(ids, size, walk);
     }
 
-    public OrderResponseDTO updateOrderStatus(Long id, OrderStatusUpdateDTO statusUpdate) {
-        log.info("Updating order {} status to: {}", id, statusUpdate.getStatus());
+    /**
+     * Builds a keyset page from up to {@code size + 1} ids; the extra id only signals that another page follows.
+     */
+    private CursorPageResponseDTO<OrderResponseDTO> cursorPage(List<Long> ids, int size, Sort.Direction walk) {
+        boolean hasNext = ids.size() > size;
+        List<OrderResponseDTO> orderDTOs = findWithItems(hasNext ? ids.subList(0, size) : ids);
+
+        String nextCursor = null;
+        if (hasNext && !orderDTOs.isEmpty()) {
+            OrderResponseDTO last = orderDTOs.get(orderDTOs.size() - 1);
+            nextCursor = new OrderCursor(walk, last.getOrderTime(), last.getId()).encode();
+        }
 
-        Order order = orderRepository.findById(id)
-                                     .orElseThrow(() -> new OrderNotFoundException("Order not found with ID: " + id));
+        return CursorPageResponseDTO.<OrderResponseDTO>builder()
+                                    .content(orderDTOs)
+                                    .pageSize(size)
+                                    .hasNext(hasNext)
+                                    .nextCursor(nextCursor)
+                                    .build();
+    }
 
-        validateStatusTransition(order.getStatus(), statusUpdate.getStatus());
+    private Long countOrders(CursorPageResponseDTO.CountMode countMode) {
+        return switch (countMode) {
+            case NONE -> null;
+            case APPROXIMATE -> orderRepository.estimateRowCount();
+            case EXACT -> orderRepository.count();
+        };
+    }
 
-        order.setStatus(statusUpdate.getStatus());
 
-        if (statusUpdate.getStatus() == OrderStatus.PROCESSED) {
-            order.setProcessedTime(LocalDateTime.now());
+    /**
+     * Loads the orders and all their items with a single fetch-join query, returned in the order of {@code ids}.
+     */
+    private List<OrderResponseDTO> findWithItems(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
         }
+        Map<Long, Order> ordersById = orderRepository.findAllWithItemsByIdIn(ids).stream()
+                                                     .collect(Collectors.toMap(Order::getId, Function.identity()));
+        return ids.stream()
+                  .map(ordersById::get)
+                  .filter(Objects::nonNull)
+                  .map(orderMapper::toResponseDTO)
+                  .collect(Collectors.toList());
+    }
+
+    /**
+     * Runs outside the class-level transaction so a cache hit neither borrows a pooled connection nor
+     * commits; only a miss loads the order, in a read-only transaction.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public OrderResponseDTO getOrderById(Long id) {
+        log.info("Fetching order with ID: {}", id);
 
-        Order updatedOrder = orderRepository.save(order);
-        log.info("Order {} status updated successfully", id);
+        return orderReadCache.get(id, key -> readTransaction.execute(status -> loadOrder(key)));
+    }
 
-        return orderMapper.toResponseDTO(updatedOrder);
+    /**
+     * Status-only lookup: a projection on {@code orders} behind the in-memory status index, never touching
+     * {@code order_items}. Like {@link #getOrderById}, only a miss opens a (read-only) transaction.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public OrderStatusResponseDTO getOrderStatus(Long id) {
+        return orderStatusIndex.get(id, key -> readTransaction.execute(status -> loadStatus(key)));
     }
 
-    public void processOrder(Long orderId) {
-        log.info("Processing order: {}", orderId);
+    private OrderStatusResponseDTO loadStatus(Long id) {
+        return orderRepository.findStatusById(id)
+                              .orElseThrow(() -> new OrderNotFoundException("Order not found with ID: " + id));
+    }
 
-        Order order = orderRepository.findById(orderId)
-                                     .orElseThrow(() -> new OrderNotFoundException("Order not found with ID: " + orderId));
+    private OrderResponseDTO loadOrder(Long id) {
+        Order order = orderRepository.findByIdWithItems(id)
+                                     .orElseThrow(() -> new OrderNotFoundException("Order not found with ID: " + id));
 
-        if (order.getStatus() != OrderStatus.PENDING) {
-            log.warn("Order {} is not in PENDING status, skipping processing", orderId);
-            return;
+        return orderMapper.toResponseDTO(order);
+    }
+
+    /**
+     * Reads the order's status and version without a lock, checks the transition, then writes it with one
+     * conditional update pinned to that version. A successful update therefore started from the status
+     * read; a failed one means the order changed in between.
+     */
+    public OrderResponseDTO updateOrderStatus(Long id, OrderStatusUpdateDTO statusUpdate) {
+        OrderStatus newStatus = statusUpdate.getStatus();
+        log.info("Updating order {} status to: {}", id, newStatus);
+
+        OrderRepository.StatusVersion current = orderRepository.findStatusVersionById(id)
+                .orElseThrow(() -> new OrderNotFoundException("Order not found with ID: " + id));
+        if (statusUpdate.getExpectedVersion() != null && !statusUpdate.getExpectedVersion().equals(current.getVersion())) {
+            throw new OrderConflictException(String.format("Order %d was modified concurrently (expected version %d, current %d)",
+                    id, statusUpdate.getExpectedVersion(), current.getVersion()));
+        }
+        if (!statusTransitions.isAllowed(current.getStatus(), newStatus)) {
+            throw new InvalidOrderStateException(
+                    String.format("Invalid status transition from %s to %s", current.getStatus(), newStatus));
         }
 
-        order.setStatus(OrderStatus.PROCESSING);
-        orderRepository.save(order);
+        LocalDateTime processedTime = newStatus == OrderStatus.PROCESSED ? LocalDateTime.now() : null;
+        int updated = orderRepository.compareAndSetStatus(id, statusTransitions.allowedSources(newStatus), newStatus,
+                processedTime, current.getVersion());
+        if (updated == 0) {
+            throw new OrderConflictException(String.format("Order %d changed status concurrently, was %s at version %d",
+                    id, current.getStatus(), current.getVersion()));
+        }
 
+        log.info("Order {} status updated successfully from {}", id, current.getStatus());
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(List.of(id), current.getStatus(), newStatus,
+                processedTime != null ? processedTime : LocalDateTime.now()));
+        return loadOrder(id);
+    }
 
-        try {
-            Thread.sleep(5000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.error("Order processing interrupted for order: {}", orderId);
-            return;
+    /**
+     * First processing stage: moves the PENDING orders among {@code orderIds} to PROCESSING with one
+     * set-based update, and removes their outbox entries, in one short transaction.
+     *
+     * @return the ids that actually entered PROCESSING
+     */
+    public List<Long> beginProcessing(Collection<Long> orderIds) {
+        orderOutboxRepository.deleteByOrderIds(orderIds);
+
+        List<Long> pending = orderRepository.lockIdsWithStatus(orderIds, OrderStatus.PENDING.name());
+        if (!pending.isEmpty()) {
+            orderRepository.updateStatus(pending, OrderStatus.PENDING, OrderStatus.PROCESSING);
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(pending, OrderStatus.PENDING, OrderStatus.PROCESSING,
+                    LocalDateTime.now()));
+        }
+        if (pending.size() < orderIds.size()) {
+            log.warn("{} of {} orders were not PENDING, skipping them", orderIds.size() - pending.size(), orderIds.size());
         }
+        log.info("Processing orders: {}", pending);
+        return pending;
+    }
 
-        order.setStatus(OrderStatus.PROCESSED);
-        order.setProcessedTime(LocalDateTime.now());
-        orderRepository.save(order);
+    /**
+     * Final processing stage: moves the orders still in PROCESSING to PROCESSED. Orders that left
+     * PROCESSING in the meantime (e.g. cancelled manually) are left untouched.
+     *
+     * @return the ids that actually reached PROCESSED
+     */
+    public List<Long> completeProcessing(Collection<Long> orderIds) {
+        List<Long> processing = orderRepository.lockIdsWithStatus(orderIds, OrderStatus.PROCESSING.name());
+        if (!processing.isEmpty()) {
+            LocalDateTime processedTime = LocalDateTime.now();
+            orderRepository.updateStatusProcessed(processing, OrderStatus.PROCESSING, OrderStatus.PROCESSED, processedTime);
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(processing, OrderStatus.PROCESSING, OrderStatus.PROCESSED,
+                    processedTime));
+        }
+        if (processing.size() < orderIds.size()) {
+            log.warn("{} of {} orders are no longer PROCESSING, skipping completion", orderIds.size() - processing.size(), orderIds.size());
+        }
+        log.info("Orders {} processed successfully", processing);
+        return processing;
+    }
 
-        log.info("Order {} processed successfully", orderId);
+    /**
+     * Recovery: moves the orders among {@code orderIds} that have been in PROCESSING since before
+     * {@code before} back to PENDING.
+     *
+     * @return the ids that were reset
+     */
+    public List<Long> resetStuckProcessing(Collection<Long> orderIds, LocalDateTime before) {
+        List<Long> stuck = orderRepository.lockIdsWithStatusUpdatedBefore(orderIds, OrderStatus.PROCESSING.name(), before);
+        if (!stuck.isEmpty()) {
+            orderRepository.updateStatus(stuck, OrderStatus.PROCESSING, OrderStatus.PENDING);
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(stuck, OrderStatus.PROCESSING, OrderStatus.PENDING,
+                    LocalDateTime.now()));
+        }
+        return stuck;
     }
 
-    private BigDecimal calculateTotalAmount(List<OrderItemDTO> items) {
+    static BigDecimal calculateTotalAmount(List<OrderItemDTO> items) {
         return items.stream()
                     .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
                     .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
-
-    private void validateStatusTransition(OrderStatus currentStatus, OrderStatus newStatus) {
-
-        boolean validTransition = switch (currentStatus) {
-            case PENDING -> newStatus == OrderStatus.PROCESSING ||
-                    newStatus == OrderStatus.CANCELLED;
-            case PROCESSING -> newStatus == OrderStatus.PROCESSED ||
-                    newStatus == OrderStatus.CANCELLED;
-            case PROCESSED -> newStatus == OrderStatus.DELIVERED;
-            case DELIVERED, CANCELLED -> false;
-        };
-
-        if (!validTransition) {
-            throw new InvalidOrderStateException(
-                    String.format("Invalid status transition from %s to %s", currentStatus, newStatus)
-            );
-        }
-    }
 }
 
@@ -0,0 +1,237 @@
+package com.foodorderservice.Foodie.service.impl;
+
+import com.foodorderservice.Foodie.dtos.HourlyOrderStatsDTO;
+import com.foodorderservice.Foodie.dtos.OrderCreatedEvent;
+import com.foodorderservice.Foodie.dtos.OrderStatsDTO;
+import com.foodorderservice.Foodie.dtos.OrderStatusChangedEvent;
+import com.foodorderservice.Foodie.entity.enums.OrderStatus;
+import com.foodorderservice.Foodie.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Order counts per status and order count and amount per hour, kept in memory so the stats endpoint never
+ * queries the {@code orders} table. Created and status-changed events are added to {@link LongAdder}s after
+ * commit; hours live in a fixed ring of buckets swapped in with a CAS, so updates take no lock.
+ * <p>
+ * The figures are a database snapshot plus the changes seen since. The snapshot is rebuilt at startup and
+ * then every {@code order.stats.resync-interval-ms}, which also folds in changes made by other instances.
+ * Changes committing while the snapshot is read may be counted twice until the next resync.
+ */
+@Component
+@Slf4j
+public class OrderStatsStore {
+
+    private static final int CENTS_SCALE = 2;
+
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate snapshotTransaction;
+    private final int retainedHours;
+
+    private volatile State state;
+
+    /**
+     * Counters that readers add up: the last snapshot, the changes recorded while it was being read, and
+     * the changes since. Replaced as a whole so readers never see a half-swapped set.
+     */
+    private record State(Counters base, Counters pending, Counters deltas, LocalDateTime snapshotAt) {
+    }
+
+    public OrderStatsStore(OrderRepository orderRepository, PlatformTransactionManager transactionManager,
+                           @Value("${order.stats.retained-hours:48}") int retainedHours) {
+        this.orderRepository = orderRepository;
+        this.retainedHours = retainedHours;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.state = new State(new Counters(retainedHours), null, new Counters(retainedHours), null);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCreated(OrderCreatedEvent event) {
+        Counters deltas = state.deltas();
+        deltas.addStatus(event.status(), 1);
+        deltas.addOrder(epochHour(event.orderTime()), cents(event.totalAmount()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        Counters deltas = state.deltas();
+        deltas.addStatus(event.from(), -event.orderIds().size());
+        deltas.addStatus(event.to(), event.orderIds().size());
+    }
+
+    /**
+     * Replaces the counters with a consistent read of the table. Changes recorded until now are kept as
+     * {@code pending} while the snapshot is read, so the figures never drop in between.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${order.stats.resync-interval-ms:3600000}")
+    public void rebuild() {
+        long started = System.nanoTime();
+        snapshotTransaction.executeWithoutResult(transaction -> {
+            State current = state;
+            state = new State(current.base(), current.deltas(), new Counters(retainedHours), current.snapshotAt());
+
+            Counters snapshot = new Counters(retainedHours);
+            for (Object[] row : orderRepository.countByStatus()) {
+                snapshot.addStatus((OrderStatus) row[0], ((Number) row[1]).longValue());
+            }
+            LocalDateTime since = LocalDateTime.now().minusHours(retainedHours);
+            for (Object[] row : orderRepository.sumByHourSince(since)) {
+                LocalDateTime hour = LocalDateTime.of(intAt(row, 0), intAt(row, 1), intAt(row, 2), intAt(row, 3), 0);
+                snapshot.addOrders(epochHour(hour), ((Number) row[4]).longValue(), cents((BigDecimal) row[5]));
+            }
+
+            state = new State(snapshot, null, state.deltas(), LocalDateTime.now());
+        });
+        log.info("Order stats rebuilt from snapshot in {} ms", (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Constant cost regardless of table size: one sum per status and per retained hour.
+     */
+    public OrderStatsDTO stats() {
+        State current = state;
+        Counters[] layers = current.pending() == null
+                ? new Counters[]{current.base(), current.deltas()}
+                : new Counters[]{current.base(), current.pending(), current.deltas()};
+
+        Map<OrderStatus, Long> byStatus = new EnumMap<>(OrderStatus.class);
+        long total = 0;
+        for (OrderStatus status : OrderStatus.values()) {
+            long count = 0;
+            for (Counters layer : layers) {
+                count += layer.status(status);
+            }
+            byStatus.put(status, count);
+            total += count;
+        }
+
+        long currentHour = epochHour(LocalDateTime.now());
+        List<HourlyOrderStatsDTO> hourly = new ArrayList<>(retainedHours);
+        for (long hour = currentHour - retainedHours + 1; hour <= currentHour; hour++) {
+            long orders = 0;
+            long cents = 0;
+            for (Counters layer : layers) {
+                HourBucket bucket = layer.bucket(hour);
+                if (bucket != null) {
+                    orders += bucket.orders.sum();
+                    cents += bucket.cents.sum();
+                }
+            }
+            hourly.add(HourlyOrderStatsDTO.builder()
+                                          .hour(LocalDateTime.ofEpochSecond(hour * 3600, 0, ZoneOffset.UTC))
+                                          .orders(orders)
+                                          .revenue(BigDecimal.valueOf(cents, CENTS_SCALE))
+                                          .build());
+        }
+
+        return OrderStatsDTO.builder()
+                            .totalOrders(total)
+                            .ordersByStatus(byStatus)
+                            .hourly(hourly)
+                            .snapshotAt(current.snapshotAt())
+                            .build();
+    }
+
+    private static int intAt(Object[] row, int index) {
+        return ((Number) row[index]).intValue();
+    }
+
+    private static long epochHour(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 3600);
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(CENTS_SCALE, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    private static final class HourBucket {
+        private final long hour;
+        private final LongAdder orders = new LongAdder();
+        private final LongAdder cents = new LongAdder();
+
+        HourBucket(long hour) {
+            this.hour = hour;
+        }
+    }
+
+    private static final class Counters {
+        private final Map<OrderStatus, LongAdder> byStatus = new EnumMap<>(OrderStatus.class);
+        private final AtomicReferenceArray<HourBucket> hours;
+
+        Counters(int retainedHours) {
+            for (OrderStatus status : OrderStatus.values()) {
+                byStatus.put(status, new LongAdder());
+            }
+            this.hours = new AtomicReferenceArray<>(retainedHours);
+        }
+
+        void addStatus(OrderStatus status, long count) {
+            byStatus.get(status).add(count);
+        }
+
+        long status(OrderStatus status) {
+            return byStatus.get(status).sum();
+        }
+
+        void addOrder(long hour, long cents) {
+            addOrders(hour, 1, cents);
+        }
+
+        void addOrders(long hour, long orders, long cents) {
+            HourBucket bucket = bucketForWrite(hour);
+            if (bucket != null) {
+                bucket.orders.add(orders);
+                bucket.cents.add(cents);
+            }
+        }
+
+        HourBucket bucket(long hour) {
+            HourBucket bucket = hours.get(slot(hour));
+            return bucket != null && bucket.hour == hour ? bucket : null;
+        }
+
+        /**
+         * The bucket for {@code hour}, recycling the slot of an older hour; {@code null} if the hour has already
+         * been rotated out of the ring.
+         */
+        private HourBucket bucketForWrite(long hour) {
+            int slot = slot(hour);
+            while (true) {
+                HourBucket bucket = hours.get(slot);
+                if (bucket != null && bucket.hour == hour) {
+                    return bucket;
+                }
+                if (bucket != null && bucket.hour > hour) {
+                    return null;
+                }
+                HourBucket fresh = new HourBucket(hour);
+                if (hours.compareAndSet(slot, bucket, fresh)) {
+                    return fresh;
+                }
+            }
+        }
+
+        private int slot(long hour) {
+            return (int) Math.floorMod(hour, (long) hours.length());
+        }
+    }
+}
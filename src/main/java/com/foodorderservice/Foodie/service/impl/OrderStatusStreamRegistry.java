@@ -0,0 +1,287 @@
+package com.foodorderservice.Foodie.service.impl;
+
+import com.foodorderservice.Foodie.dtos.OrderStatusChangedEvent;
+import com.foodorderservice.Foodie.dtos.OrderStatusResponseDTO;
+import com.foodorderservice.Foodie.entity.enums.OrderStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Server-Sent Events subscriptions to order status changes. An idle subscription is an {@link SseEmitter}
+ * on an async request plus an entry per watched order id, so it holds no thread. Committed
+ * {@link OrderStatusChangedEvent}s are looked up by order id and appended to each subscriber's backlog in the
+ * order they were published; a small fan-out pool writes the backlogs out, one writer per subscription at a
+ * time, never on the thread that committed the change. A client that stops reading therefore holds up only
+ * its own stream, and is dropped once its backlog exceeds {@code max-pending}. An event is only sent if its
+ * source status is the last status sent for the order, so a late event never rolls a status back.
+ * A subscription completes once every watched order reached a final status; disconnected clients are
+ * detected by the periodic heartbeat and removed.
+ */
+@Component
+@Slf4j
+public class OrderStatusStreamRegistry {
+
+    private static final String STATUS_EVENT = "status";
+    private static final Object HEARTBEAT = new Object();
+
+    private final OrderStatusTransitions statusTransitions;
+    private final Map<Long, Set<Subscription>> subscriptionsByOrder = new ConcurrentHashMap<>();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor fanOut;
+    private final Counter dropped;
+
+    @Value("${order.status-stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${order.status-stream.max-pending:1000}")
+    private int maxPending;
+
+    public OrderStatusStreamRegistry(OrderStatusTransitions statusTransitions, MeterRegistry meterRegistry,
+                                     @Value("${order.status-stream.fan-out-threads:8}") int fanOutThreads,
+                                     @Value("${order.status-stream.fan-out-queue:10000}") int fanOutQueue) {
+        this.statusTransitions = statusTransitions;
+        this.fanOut = new ThreadPoolExecutor(fanOutThreads, fanOutThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fanOutQueue), new CustomizableThreadFactory("OrderStatusStream-"));
+        Gauge.builder("orders.status.stream.subscriptions", subscriptions, Set::size)
+             .description("Open order status subscriptions")
+             .register(meterRegistry);
+        this.dropped = Counter.builder("orders.status.stream.dropped")
+                              .description("Status notifications dropped because the fan-out queue or a subscriber's backlog was full")
+                              .register(meterRegistry);
+    }
+
+    /**
+     * Opens a subscription to {@code initial}'s orders and sends each order's current status first.
+     */
+    public SseEmitter subscribe(Collection<OrderStatusResponseDTO> initial) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscription subscription = new Subscription(emitter, initial);
+
+        subscriptions.add(subscription);
+        for (Long orderId : subscription.latest.keySet()) {
+            subscriptionsByOrder.computeIfAbsent(orderId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        }
+        emitter.onCompletion(() -> unregister(subscription));
+        emitter.onTimeout(() -> unregister(subscription));
+        emitter.onError(error -> unregister(subscription));
+
+        // Registered before the snapshot is sent, so a change committed in between is not missed; the
+        // snapshot is skipped for orders that already received a newer notification.
+        initial.forEach(subscription::snapshot);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        if (subscriptionsByOrder.isEmpty()) {
+            return;
+        }
+        for (Long orderId : event.orderIds()) {
+            Set<Subscription> subscribers = subscriptionsByOrder.get(orderId);
+            if (subscribers != null) {
+                subscribers.forEach(subscription -> subscription.enqueue(new Change(orderId, event)));
+            }
+        }
+    }
+
+    /**
+     * Comment line to every open subscription; keeps proxies from closing idle streams and surfaces
+     * clients that went away, whose write fails.
+     */
+    @Scheduled(fixedDelayString = "${order.status-stream.heartbeat-ms:30000}")
+    public void heartbeat() {
+        subscriptions.forEach(Subscription::heartbeat);
+    }
+
+    private void unregister(Subscription subscription) {
+        if (!subscriptions.remove(subscription)) {
+            return;
+        }
+        for (Long orderId : subscription.latest.keySet()) {
+            subscriptionsByOrder.computeIfPresent(orderId, (id, subscribers) -> {
+                subscribers.remove(subscription);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanOut.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+    }
+
+    private record Change(Long orderId, OrderStatusChangedEvent event) {
+    }
+
+    private final class Subscription {
+        private final SseEmitter emitter;
+        /** Guards {@link #latest} and writes to the emitter. */
+        private final ReentrantLock lock = new ReentrantLock();
+        /** Status each watched order had when the subscription was opened. */
+        private final Map<Long, OrderStatusResponseDTO> initial = new HashMap<>();
+        /** Last status sent per watched order, {@code null} until the first one. Keys never change. */
+        private final Map<Long, OrderStatusResponseDTO> latest = new HashMap<>();
+        private final AtomicInteger finished = new AtomicInteger();
+
+        /** Changes and heartbeats not written yet, guarded by itself. */
+        private final ArrayDeque<Object> pending = new ArrayDeque<>();
+        private boolean draining;
+        private volatile boolean overflowed;
+
+        Subscription(SseEmitter emitter, Collection<OrderStatusResponseDTO> initialStatuses) {
+            this.emitter = emitter;
+            for (OrderStatusResponseDTO status : initialStatuses) {
+                initial.put(status.getOrderId(), status);
+                latest.put(status.getOrderId(), null);
+            }
+        }
+
+        void snapshot(OrderStatusResponseDTO status) {
+            lock.lock();
+            try {
+                if (latest.get(status.getOrderId()) == null) {
+                    send(status);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void heartbeat() {
+            synchronized (pending) {
+                // A backlog being written detects a dead client just as well.
+                if (draining) {
+                    return;
+                }
+            }
+            enqueue(HEARTBEAT);
+        }
+
+        /**
+         * Appends to the backlog and makes sure a writer will drain it; never blocks on the client.
+         */
+        void enqueue(Object item) {
+            synchronized (pending) {
+                if (overflowed) {
+                    return;
+                }
+                if (pending.size() >= maxPending) {
+                    overflowed = true;
+                    dropped.increment(pending.size() + 1);
+                    pending.clear();
+                    pending.add(HEARTBEAT);
+                    log.warn("Status stream client is not keeping up, closing its subscription");
+                    unregister(this);
+                } else {
+                    pending.add(item);
+                }
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            try {
+                fanOut.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                synchronized (pending) {
+                    // The next notification or heartbeat schedules the backlog again.
+                    draining = false;
+                }
+                dropped.increment();
+                log.warn("Status stream fan-out queue full, postponed notifications for a subscription");
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Object item;
+                synchronized (pending) {
+                    item = pending.poll();
+                    if (item == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                lock.lock();
+                try {
+                    if (overflowed) {
+                        emitter.completeWithError(new IOException("Status stream client is not keeping up"));
+                        return;
+                    }
+                    if (item == HEARTBEAT) {
+                        writeHeartbeat();
+                    } else {
+                        changed((Change) item);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        private void changed(Change change) {
+            OrderStatusResponseDTO previous = latest.get(change.orderId());
+            OrderStatusResponseDTO known = previous != null ? previous : initial.get(change.orderId());
+            OrderStatusChangedEvent event = change.event();
+            if (known.getStatus() != event.from()) {
+                log.debug("Skipping {} -> {} for order {}, stream is at {}", event.from(), event.to(),
+                        change.orderId(), known.getStatus());
+                return;
+            }
+            send(OrderStatusResponseDTO.builder()
+                                       .orderId(change.orderId())
+                                       .status(event.to())
+                                       .orderTime(known.getOrderTime())
+                                       .processedTime(event.to() == OrderStatus.PROCESSED ? event.changedAt()
+                                               : known.getProcessedTime())
+                                       .build());
+        }
+
+        private void send(OrderStatusResponseDTO status) {
+            OrderStatusResponseDTO previous = latest.put(status.getOrderId(), status);
+            boolean wasFinal = previous != null && statusTransitions.isFinal(previous.getStatus());
+            boolean isFinal = statusTransitions.isFinal(status.getStatus());
+            try {
+                emitter.send(SseEmitter.event().name(STATUS_EVENT).id(String.valueOf(status.getOrderId())).data(status));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+                return;
+            }
+            if (isFinal && !wasFinal && finished.incrementAndGet() == latest.size()) {
+                emitter.complete();
+            }
+        }
+
+        private void writeHeartbeat() {
+            try {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.foodorderservice.Foodie.service.impl;
+
+import com.foodorderservice.Foodie.entity.enums.OrderStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The legal order status transitions:
+ * PENDING → PROCESSING | CANCELLED, PROCESSING → PROCESSED | CANCELLED, PROCESSED → DELIVERED.
+ */
+@Component
+public class OrderStatusTransitions {
+
+    private final Map<OrderStatus, Set<OrderStatus>> sourcesByTarget = new EnumMap<>(OrderStatus.class);
+
+    public OrderStatusTransitions() {
+        for (OrderStatus target : OrderStatus.values()) {
+            Set<OrderStatus> sources = EnumSet.noneOf(OrderStatus.class);
+            for (OrderStatus source : OrderStatus.values()) {
+                if (isAllowed(source, target)) {
+                    sources.add(source);
+                }
+            }
+            sourcesByTarget.put(target, Collections.unmodifiableSet(sources));
+        }
+    }
+
+    public boolean isAllowed(OrderStatus currentStatus, OrderStatus newStatus) {
+        return switch (currentStatus) {
+            case PENDING -> newStatus == OrderStatus.PROCESSING ||
+                    newStatus == OrderStatus.CANCELLED;
+            case PROCESSING -> newStatus == OrderStatus.PROCESSED ||
+                    newStatus == OrderStatus.CANCELLED;
+            case PROCESSED -> newStatus == OrderStatus.DELIVERED;
+            case DELIVERED, CANCELLED -> false;
+        };
+    }
+
+    /**
+     * @return the statuses an order may be in to move to {@code newStatus}
+     */
+    public Set<OrderStatus> allowedSources(OrderStatus newStatus) {
+        return sourcesByTarget.get(newStatus);
+    }
+
+    /**
+     * @return whether no transition leads out of {@code status}
+     */
+    public boolean isFinal(OrderStatus status) {
+        for (OrderStatus target : OrderStatus.values()) {
+            if (isAllowed(status, target)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
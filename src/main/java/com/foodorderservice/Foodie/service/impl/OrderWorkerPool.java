@@ -0,0 +1,293 @@
+package com.foodorderservice.Foodie.service.impl;
+
+import com.foodorderservice.Foodie.exception.OrderWorkerBusyException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Fixed pool of single-threaded workers, each owning the shard of order ids that hash to it.
+ * Everything that touches a given order (queue processing, manual status changes) runs on the
+ * owning worker, so work for one order is serialized while different shards run in parallel.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderWorkerPool {
+
+    private static final Runnable SHUTDOWN = () -> {};
+
+    private final MeterRegistry meterRegistry;
+    private final ThreadFactory orderWorkerThreadFactory;
+
+    @Value("${order.processing.workers:0}")
+    private int configuredWorkers;
+
+    @Value("${order.processing.inbox-capacity:256}")
+    private int inboxCapacity;
+
+    @Value("${order.processing.call-timeout-ms:5000}")
+    private long callTimeoutMs;
+
+    private volatile OrderWorker[] workers;
+    private volatile boolean accepting;
+
+    public void start() {
+        if (workers != null) {
+            return;
+        }
+        int count = configuredWorkers > 0 ? configuredWorkers : Runtime.getRuntime().availableProcessors();
+        OrderWorker[] created = new OrderWorker[count];
+        for (int i = 0; i < count; i++) {
+            created[i] = new OrderWorker(i, orderWorkerThreadFactory);
+            registerMeters(created[i]);
+        }
+        workers = created;
+        accepting = true;
+        for (OrderWorker worker : created) {
+            worker.thread.start();
+        }
+        log.info("Order worker pool started with {} workers", count);
+    }
+
+    /**
+     * Stops accepting work and interrupts all workers. Tasks still waiting in the inboxes are discarded.
+     */
+    public void stop() {
+        OrderWorker[] current = workers;
+        accepting = false;
+        if (current == null) {
+            return;
+        }
+        int discarded = 0;
+        for (OrderWorker worker : current) {
+            discarded += worker.inbox.size();
+            worker.inbox.clear();
+            worker.thread.interrupt();
+        }
+        workers = null;
+        log.info("Order worker pool stopped, {} queued tasks discarded", discarded);
+    }
+
+    /**
+     * Stops accepting work and lets every worker finish what is already in its inbox.
+     *
+     * @return true if all workers finished within the timeout
+     */
+    public boolean drain(long timeout, TimeUnit unit) {
+        OrderWorker[] current = workers;
+        accepting = false;
+        if (current == null) {
+            return true;
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        try {
+            for (OrderWorker worker : current) {
+                if (!worker.inbox.offer(SHUTDOWN, Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+            }
+            for (OrderWorker worker : current) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis > 0) {
+                    worker.thread.join(remainingMillis);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        boolean drained = true;
+        for (OrderWorker worker : current) {
+            drained &= !worker.thread.isAlive();
+        }
+        if (!drained) {
+            log.warn("Order worker pool did not drain within {} {}, stopping remaining workers", timeout, unit);
+            stop();
+        } else {
+            workers = null;
+            log.info("Order worker pool drained");
+        }
+        return drained;
+    }
+
+    public boolean isRunning() {
+        return accepting;
+    }
+
+    public int shardOf(Long orderId) {
+        OrderWorker[] current = workers;
+        return current == null ? 0 : Math.floorMod(orderId, current.length);
+    }
+
+    /**
+     * Queues a task on the worker owning the order, blocking while that worker's inbox is full.
+     */
+    public void dispatch(Long orderId, Runnable task) throws InterruptedException {
+        OrderWorker[] current = workers;
+        if (!accepting || current == null) {
+            throw new IllegalStateException("Order worker pool is not accepting work");
+        }
+        current[Math.floorMod(orderId, current.length)].inbox.put(logged(orderId, task));
+    }
+
+    /**
+     * Queues a task on the worker owning the order without blocking.
+     *
+     * @return false if the pool is not running or the owning worker's inbox is full
+     */
+    public boolean offer(Long orderId, Runnable task) {
+        OrderWorker[] current = workers;
+        if (!accepting || current == null) {
+            return false;
+        }
+        return current[Math.floorMod(orderId, current.length)].inbox.offer(logged(orderId, task));
+    }
+
+    /**
+     * Runs the action on the worker owning the order and waits for its result. When the pool is not
+     * running, or the caller already is the owning worker, the action runs on the calling thread.
+     *
+     * @throws OrderWorkerBusyException if the worker has not started the action within the call timeout;
+     * the action is then withdrawn and never runs
+     */
+    public <T> T call(Long orderId, Supplier<T> action) {
+        OrderWorker[] current = workers;
+        if (!accepting || current == null) {
+            return action.get();
+        }
+        OrderWorker owner = current[Math.floorMod(orderId, current.length)];
+        if (Thread.currentThread() == owner.thread) {
+            return action.get();
+        }
+
+        CallTask<T> future = new CallTask<>(action);
+        try {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(callTimeoutMs);
+            if (!owner.inbox.offer(future, callTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new OrderWorkerBusyException("Worker for order " + orderId + " is busy, retry later");
+            }
+            try {
+                return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (future.cancel(false)) {
+                    throw new OrderWorkerBusyException("Worker for order " + orderId + " is busy, retry later");
+                }
+                // Already running: its outcome is the answer, and the action itself does not wait on anything.
+                return future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for order " + orderId, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private Runnable logged(Long orderId, Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.error("Error processing order {}: {}", orderId, e.getMessage());
+                throw e;
+            }
+        };
+    }
+
+    private void registerMeters(OrderWorker worker) {
+        String id = String.valueOf(worker.index);
+        FunctionCounter.builder("orders.worker.tasks", worker.completed, LongAdder::doubleValue)
+                       .description("Tasks executed by an order worker")
+                       .tag("worker", id)
+                       .tag("outcome", "success")
+                       .register(meterRegistry);
+        FunctionCounter.builder("orders.worker.tasks", worker.failed, LongAdder::doubleValue)
+                       .description("Tasks executed by an order worker")
+                       .tag("worker", id)
+                       .tag("outcome", "failure")
+                       .register(meterRegistry);
+    }
+
+    /**
+     * Task queued by {@link #call}; remembers whether the action threw so the worker can count it.
+     */
+    private static final class CallTask<T> extends FutureTask<T> {
+        private volatile boolean failed;
+
+        private CallTask(Supplier<T> action) {
+            super(action::get);
+        }
+
+        @Override
+        protected void setException(Throwable t) {
+            failed = true;
+            super.setException(t);
+        }
+    }
+
+    private final class OrderWorker implements Runnable {
+        private final int index;
+        private final BlockingQueue<Runnable> inbox = new LinkedBlockingQueue<>(inboxCapacity);
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final Thread thread;
+
+        private OrderWorker(int index, ThreadFactory threadFactory) {
+            this.index = index;
+            this.thread = threadFactory.newThread(this);
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Runnable task;
+                try {
+                    task = inbox.take();
+                } catch (InterruptedException e) {
+                    break;
+                }
+                if (task == SHUTDOWN) {
+                    break;
+                }
+                try {
+                    task.run();
+                    if (task instanceof CallTask<?> call) {
+                        // A FutureTask keeps the action's exception for the caller instead of throwing it.
+                        if (call.isCancelled()) {
+                            continue;
+                        }
+                        if (call.failed) {
+                            failed.increment();
+                            continue;
+                        }
+                    }
+                    completed.increment();
+                } catch (Exception e) {
+                    failed.increment();
+                }
+            }
+            log.debug("Order worker {} exited", index);
+        }
+    }
+}
@@ -1,43 +1,74 @@
 package com.foodorderservice.Foodie.service.impl;
 
 
-import com.foodorderservice.Foodie.config.QueueConfig;
+import com.foodorderservice.Foodie.config.OrderQueue;
+import com.foodorderservice.Foodie.entity.enums.OrderLane;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class QueueService {
 
-    private final QueueConfig.InMemoryQueue queue;
-
-
-    public void sendOrderForProcessing(Long orderId) {
-        log.info("Sending order {} to processing queue", orderId);
-        int attempts = 0;
-        boolean added = false;
-        while (!added && attempts++ < 3) {
-            try {
-                added = queue.offer(orderId, 1, TimeUnit.SECONDS);
-                if (!added) {
-                    log.warn("Queue full, retry {} for order {}", attempts, orderId);
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                log.error("Interrupted while enqueuing order {}", orderId, e);
-                return;
-            }
+    private final OrderQueue queue;
+    private final OrderPipelineMetrics metrics;
+
+    /**
+     * Enqueues the order only if there is room right now.
+     */
+    public boolean offerOrder(Long orderId) {
+        if (queue.offer(orderId)) {
+            metrics.enqueued(orderId);
+            return true;
         }
-        if (!added) {
-            log.error("Failed to enqueue order {} after retries", orderId);
+        metrics.enqueueRejected();
+        return false;
+    }
+
+    /**
+     * Enqueues the order into its scheduling lane only if that lane has room right now.
+     *
+     * @param deadline epoch millis by which processing of the order should begin
+     */
+    public boolean offerOrder(long orderId, OrderLane lane, long deadline) {
+        if (queue.offer(orderId, lane, deadline)) {
+            metrics.enqueued(orderId);
+            return true;
         }
+        metrics.enqueueRejected();
+        return false;
+    }
+
+    /**
+     * Enqueues the order into its scheduling lane, waiting as long as it takes for the lane to have room.
+     *
+     * @param deadline epoch millis by which processing of the order should begin
+     */
+    public void putOrder(long orderId, OrderLane lane, long deadline) throws InterruptedException {
+        queue.put(orderId, lane, deadline);
+        metrics.enqueued(orderId);
+    }
+
+    /**
+     * @return how many more orders fit into {@code lane} right now
+     */
+    public int remainingCapacity(OrderLane lane) {
+        return queue.remainingCapacity(lane);
     }
 
-    public Long receiveOrder() throws InterruptedException {
-        return queue.take();
+    /**
+     * Waits for at least one order, then takes whatever else is already queued, up to {@code maxOrders}.
+     */
+    public List<Long> receiveOrders(int maxOrders) throws InterruptedException {
+        List<Long> orderIds = new ArrayList<>(maxOrders);
+        orderIds.add(queue.take());
+        queue.drainTo(orderIds, maxOrders - 1);
+        metrics.dequeued(orderIds);
+        return orderIds;
     }
 }
@@ -0,0 +1,68 @@
+package com.foodorderservice.Foodie.service.impl;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, direct-mapped table from order id to the {@link System#nanoTime()} an order entered a stage.
+ * Marking and reading allocate nothing and take no lock. It is lossy by design: an id whose slot is taken
+ * over by a later order, or that was marked by another instance, simply has no timestamp and is not
+ * measured.
+ */
+final class StageClock {
+
+    private static final long EMPTY = 0;
+
+    private final AtomicLongArray ids;
+    private final AtomicLongArray times;
+    private final int mask;
+
+    /**
+     * @param capacity rounded up to a power of two
+     */
+    StageClock(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.ids = new AtomicLongArray(size);
+        this.times = new AtomicLongArray(size);
+        this.mask = size - 1;
+    }
+
+    void mark(long orderId, long nanoTime) {
+        int slot = slot(orderId);
+        // Clear the id first so a concurrent reader never pairs it with the new time.
+        ids.set(slot, EMPTY);
+        times.set(slot, nanoTime);
+        ids.set(slot, orderId);
+    }
+
+    /**
+     * @return nanoseconds since {@code orderId} was marked and clears the mark, or -1 if it is not present
+     */
+    long elapsedAndClear(long orderId, long now) {
+        int slot = slot(orderId);
+        if (ids.get(slot) != orderId) {
+            return -1;
+        }
+        long markedAt = times.get(slot);
+        if (!ids.compareAndSet(slot, orderId, EMPTY)) {
+            return -1;
+        }
+        return now - markedAt;
+    }
+
+    /**
+     * @return nanoseconds since {@code orderId} was marked, keeping the mark, or -1 if it is not present
+     */
+    long elapsed(long orderId, long now) {
+        int slot = slot(orderId);
+        if (ids.get(slot) != orderId) {
+            return -1;
+        }
+        long markedAt = times.get(slot);
+        return ids.get(slot) == orderId ? now - markedAt : -1;
+    }
+
+    private int slot(long orderId) {
+        long hash = orderId * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & mask;
+    }
+}
@@ -5,13 +5,54 @@ CREATE TABLE IF NOT EXISTS orders (
     status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
     order_time TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     processed_time TIMESTAMP NULL,
+    version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     INDEX idx_order_status (status),
+    INDEX idx_order_status_time (status, order_time),
     INDEX idx_order_time (order_time),
-    INDEX idx_customer_name (customer_name)
+    INDEX idx_customer_name_time (customer_name, order_time),
+    INDEX idx_order_amount (total_amount)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- Optimistic-locking column for databases created before it was part of the table definition.
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE orders ADD COLUMN version BIGINT NOT NULL DEFAULT 0', 'DO 0')
+            FROM information_schema.COLUMNS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'orders' AND COLUMN_NAME = 'version');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+-- Search indexes for databases created before they were part of the table definition.
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_order_status_time ON orders (status, order_time)', 'DO 0')
+            FROM information_schema.STATISTICS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'orders' AND INDEX_NAME = 'idx_order_status_time');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_customer_name_time ON orders (customer_name, order_time)', 'DO 0')
+            FROM information_schema.STATISTICS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'orders' AND INDEX_NAME = 'idx_customer_name_time');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_order_amount ON orders (total_amount)', 'DO 0')
+            FROM information_schema.STATISTICS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'orders' AND INDEX_NAME = 'idx_order_amount');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+-- idx_customer_name_time serves every customer_name lookup the single-column index did.
+SET @ddl = (SELECT IF(COUNT(*) > 0, 'DROP INDEX idx_customer_name ON orders', 'DO 0')
+            FROM information_schema.STATISTICS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'orders' AND INDEX_NAME = 'idx_customer_name');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
 CREATE TABLE IF NOT EXISTS order_items (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     order_id BIGINT NOT NULL,
@@ -22,3 +63,82 @@ CREATE TABLE IF NOT EXISTS order_items (
     CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE,
     INDEX idx_order_id (order_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS order_outbox (
+    order_id BIGINT PRIMARY KEY,
+    available_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    attempts INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    lane VARCHAR(10) NOT NULL DEFAULT 'NORMAL',
+    deadline TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    CONSTRAINT fk_order_outbox_order FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE,
+    INDEX idx_outbox_available_at (available_at),
+    INDEX idx_outbox_created_at (created_at),
+    INDEX idx_outbox_lane_deadline (lane, deadline)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_outbox_created_at ON order_outbox (created_at)', 'DO 0')
+            FROM information_schema.STATISTICS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'order_outbox' AND INDEX_NAME = 'idx_outbox_created_at');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE order_outbox ADD COLUMN lane VARCHAR(10) NOT NULL DEFAULT ''NORMAL''', 'DO 0')
+            FROM information_schema.COLUMNS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'order_outbox' AND COLUMN_NAME = 'lane');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE order_outbox ADD COLUMN deadline TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6)', 'DO 0')
+            FROM information_schema.COLUMNS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'order_outbox' AND COLUMN_NAME = 'deadline');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_outbox_lane_deadline ON order_outbox (lane, deadline)', 'DO 0')
+            FROM information_schema.STATISTICS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'order_outbox' AND INDEX_NAME = 'idx_outbox_lane_deadline');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(100) PRIMARY KEY,
+    request_hash CHAR(64) NOT NULL,
+    order_id BIGINT NOT NULL,
+    response TEXT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    INDEX idx_idempotency_expires_at (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Pooled id allocation (allocationSize 50) so Hibernate can batch inserts; seeded above any existing id.
+CREATE TABLE IF NOT EXISTS orders_seq (
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB;
+
+INSERT INTO orders_seq (next_val)
+SELECT m.next_val FROM (SELECT COALESCE(MAX(id), 0) + 100 AS next_val FROM orders) m
+WHERE NOT EXISTS (SELECT 1 FROM orders_seq);
+
+CREATE TABLE IF NOT EXISTS order_items_seq (
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB;
+
+INSERT INTO order_items_seq (next_val)
+SELECT m.next_val FROM (SELECT COALESCE(MAX(id), 0) + 100 AS next_val FROM order_items) m
+WHERE NOT EXISTS (SELECT 1 FROM order_items_seq);
+
+CREATE TABLE IF NOT EXISTS processing_leases (
+    partition_id INT PRIMARY KEY,
+    owner VARCHAR(100) NULL,
+    lease_until TIMESTAMP(6) NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS processing_nodes (
+    node_id VARCHAR(100) PRIMARY KEY,
+    heartbeat_at TIMESTAMP(6) NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,485 @@
+package com.foodorderservice.Foodie.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodorderservice.Foodie.FoodieApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load test. Boots the application with the {@code loadtest} profile (embedded H2 in MySQL mode,
+ * random port) unless {@code baseUrl} points at a running instance, then drives a weighted mix of create,
+ * get, list and status requests from {@code threads} clients. After the warmup, every request is timed; the
+ * report gives throughput, errors, throttled (429) requests and p50/p99/p999 per operation, plus time to
+ * PROCESSED taken from the server-side {@code orderTime}/{@code processedTime} of a sample of the created orders.
+ * <p>
+ * With {@code rate} set, requests arrive on a fixed schedule of {@code rate} per second spread over the clients
+ * (open loop), and each latency is measured from the time the request was due rather than from when a busy
+ * client got round to sending it. A slow response then shows up in the latency of every request queued behind
+ * it, as it would for real users, instead of quietly lowering the request rate. Without {@code rate} each client
+ * sends its next request as soon as the previous one returned (closed loop), which finds the maximum throughput
+ * but under-reports p99 and p999 once the service slows down.
+ * <p>
+ * Exits with status 1 if the error rate exceeds {@code maxErrorRate}, any operation's p99 exceeds
+ * {@code maxP99Ms}, or a sampled order did not reach PROCESSED within {@code processedTimeout} seconds,
+ * so it can gate a release. Arguments starting with {@code --} are passed on to the embedded application, e.g.
+ * {@code --spring.threads.virtual.enabled=true} to compare platform and virtual threads on the real request path.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="duration=60 warmup=10 threads=32 rate=500 mix=create:40,get:30,list:10,status:20 maxP99Ms=250"
+ * </pre>
+ */
+public class OrderLoadTest {
+
+    private static final String[] NAMES = {"John", "Jane", "Bob", "Alice", "Maria", "Omar", "Wei", "Priya", "Lars", "Zoe"};
+    private static final String[] ITEMS = {"Burger", "Fries", "Coke", "Pizza", "Salad", "Juice", "Pasta", "Ice Cream"};
+    private static final int RECENT_IDS = 4096;
+    private static final int LIST_PAGES = 5;
+
+    enum Operation {CREATE, GET, LIST, STATUS}
+
+    enum Outcome {OK, THROTTLED, ERROR}
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+                                                    .version(HttpClient.Version.HTTP_1_1)
+                                                    .connectTimeout(Duration.ofSeconds(5))
+                                                    .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final int itemsPerOrder;
+
+    private final AtomicLongArray recentIds = new AtomicLongArray(RECENT_IDS);
+    private final AtomicLong created = new AtomicLong();
+
+    OrderLoadTest(String baseUrl, int itemsPerOrder) {
+        this.baseUrl = baseUrl;
+        this.itemsPerOrder = itemsPerOrder;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int durationS = intArg(args, "duration", 60);
+        int warmupS = intArg(args, "warmup", 10);
+        int threads = intArg(args, "threads", 32);
+        int rate = intArg(args, "rate", 0);
+        int items = intArg(args, "items", 3);
+        Map<Operation, Integer> mix = parseMix(stringArg(args, "mix", "create:40,get:30,list:10,status:20"));
+        int processedSample = intArg(args, "processedSample", 1000);
+        int processedTimeoutS = intArg(args, "processedTimeout", 60);
+        double maxErrorRate = Double.parseDouble(stringArg(args, "maxErrorRate", "0.001"));
+        long maxP99Ms = Long.parseLong(stringArg(args, "maxP99Ms", "0"));
+        String baseUrl = stringArg(args, "baseUrl", null);
+
+        ConfigurableApplicationContext context = null;
+        if (baseUrl == null) {
+            String[] applicationArgs = Arrays.stream(args).filter(arg -> arg.startsWith("--")).toArray(String[]::new);
+            context = new SpringApplicationBuilder(FoodieApplication.class).profiles("loadtest").run(applicationArgs);
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            System.out.printf("virtualThreads=%s%n", context.getEnvironment().getProperty("spring.threads.virtual.enabled"));
+        }
+        System.out.printf("target=%s duration=%ds warmup=%ds threads=%d rate=%s items=%d mix=%s%n",
+                baseUrl, durationS, warmupS, threads, rate > 0 ? rate + "/s" : "closed loop", items, mix);
+
+        int exitCode;
+        try {
+            OrderLoadTest loadTest = new OrderLoadTest(baseUrl, items);
+            exitCode = loadTest.run(threads, rate, warmupS, durationS, mix, processedSample, processedTimeoutS, maxErrorRate, maxP99Ms);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    private int run(int threads, int rate, int warmupS, int durationS, Map<Operation, Integer> mix, int processedSample,
+                    int processedTimeoutS, double maxErrorRate, long maxP99Ms) throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupS);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationS);
+        // Each client sends every threads/rate seconds, offset from the others so the arrivals interleave.
+        long intervalNanos = rate > 0 ? TimeUnit.SECONDS.toNanos(threads) / rate : 0;
+
+        List<Client> clients = new ArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Client client = new Client(mix, start + intervalNanos * i / threads, intervalNanos, measureFrom, end);
+            Thread worker = new Thread(client, "load-" + i);
+            clients.add(client);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        boolean passed = true;
+        long requests = 0;
+        long errors = 0;
+        long throttled = 0;
+        System.out.printf("%n%-8s %10s %10s %8s %9s %9s %9s %9s %9s%n", "op", "requests", "req/s", "errors", "throttled",
+                "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            LongList latencies = new LongList();
+            long operationErrors = 0;
+            long operationThrottled = 0;
+            for (Client client : clients) {
+                latencies.addAll(client.latencies.get(operation));
+                operationErrors += client.errors.get(operation)[0];
+                operationThrottled += client.throttled.get(operation)[0];
+            }
+            long[] sorted = latencies.sorted();
+            requests += sorted.length;
+            errors += operationErrors;
+            throttled += operationThrottled;
+            if (sorted.length == 0) {
+                continue;
+            }
+            System.out.printf(Locale.ROOT, "%-8s %10d %10.1f %8d %9d %9.2f %9.2f %9.2f %9.2f%n",
+                    operation.name().toLowerCase(Locale.ROOT), sorted.length, sorted.length / (double) durationS, operationErrors,
+                    operationThrottled,
+                    percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6, percentile(sorted, 0.999) / 1e6,
+                    sorted[sorted.length - 1] / 1e6);
+            if (maxP99Ms > 0 && percentile(sorted, 0.99) > TimeUnit.MILLISECONDS.toNanos(maxP99Ms)) {
+                System.out.printf("FAIL: %s p99 above %d ms%n", operation, maxP99Ms);
+                passed = false;
+            }
+        }
+        double errorRate = requests == 0 ? 1.0 : errors / (double) (requests + errors);
+        System.out.printf(Locale.ROOT, "%-8s %10d %10.1f %8d  error rate %.4f%n", "total", requests, requests / (double) durationS, errors, errorRate);
+        if (errorRate > maxErrorRate) {
+            System.out.printf(Locale.ROOT, "FAIL: error rate above %.4f%n", maxErrorRate);
+            passed = false;
+        }
+        long sent = requests + errors + throttled;
+        if (rate > 0 && sent < 0.95 * rate * durationS) {
+            // The latencies above still count the delay, but the service saw less load than asked for.
+            System.out.printf(Locale.ROOT, "WARN: sent %.1f req/s of the %d/s asked for, the service is saturated or threads is too low%n",
+                    sent / (double) durationS, rate);
+        }
+
+        LongList createdIds = new LongList();
+        for (Client client : clients) {
+            createdIds.addAll(client.createdIds);
+        }
+        if (!reportTimeToProcessed(createdIds, processedSample, processedTimeoutS)) {
+            passed = false;
+        }
+        System.out.println(passed ? "PASS" : "FAIL");
+        return passed ? 0 : 1;
+    }
+
+    /**
+     * Waits until a sample of the orders created during the measurement reached PROCESSED (or moved past it)
+     * and prints the distribution of {@code processedTime - orderTime}.
+     */
+    private boolean reportTimeToProcessed(LongList createdIds, int sampleSize, int timeoutS) throws InterruptedException {
+        if (createdIds.size() == 0 || sampleSize <= 0) {
+            return true;
+        }
+        int step = Math.max(1, createdIds.size() / sampleSize);
+        LongList pending = new LongList();
+        for (int i = 0; i < createdIds.size(); i += step) {
+            pending.add(createdIds.get(i));
+        }
+        int sampled = pending.size();
+
+        LongList timesMs = new LongList();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutS);
+        while (pending.size() > 0 && System.nanoTime() < deadline) {
+            LongList stillPending = new LongList();
+            for (int i = 0; i < pending.size(); i++) {
+                long id = pending.get(i);
+                long elapsedMs = processedAfterMs(id);
+                if (elapsedMs >= 0) {
+                    timesMs.add(elapsedMs);
+                } else {
+                    stillPending.add(id);
+                }
+            }
+            pending = stillPending;
+            if (pending.size() > 0) {
+                TimeUnit.MILLISECONDS.sleep(250);
+            }
+        }
+
+        long[] sorted = timesMs.sorted();
+        if (sorted.length > 0) {
+            System.out.printf(Locale.ROOT, "%ntime to PROCESSED (%d of %d sampled orders): p50=%d ms p99=%d ms p999=%d ms max=%d ms%n",
+                    sorted.length, sampled, percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    sorted[sorted.length - 1]);
+        }
+        if (pending.size() > 0) {
+            System.out.printf("FAIL: %d sampled orders not PROCESSED within %d s%n", pending.size(), timeoutS);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return milliseconds from order time to processed time, or -1 while the order has not been processed
+     */
+    private long processedAfterMs(long orderId) {
+        try {
+            HttpResponse<String> response = httpClient.send(get("/api/orders/" + orderId + "/status"), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return -1;
+            }
+            JsonNode data = objectMapper.readTree(response.body()).path("data");
+            if (!data.hasNonNull("processedTime")) {
+                return -1;
+            }
+            LocalDateTime orderTime = LocalDateTime.parse(data.get("orderTime").asText());
+            LocalDateTime processedTime = LocalDateTime.parse(data.get("processedTime").asText());
+            return Duration.between(orderTime, processedTime).toMillis();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private final class Client implements Runnable {
+
+        private final Operation[] weighted;
+        private final long firstSend;
+        private final long intervalNanos;
+        private final long measureFrom;
+        private final long end;
+        private final Map<Operation, LongList> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, long[]> errors = new EnumMap<>(Operation.class);
+        private final Map<Operation, long[]> throttled = new EnumMap<>(Operation.class);
+        private final LongList createdIds = new LongList();
+
+        /**
+         * @param intervalNanos time between this client's scheduled requests, or 0 to send back to back
+         */
+        Client(Map<Operation, Integer> mix, long firstSend, long intervalNanos, long measureFrom, long end) {
+            List<Operation> slots = new ArrayList<>();
+            mix.forEach((operation, weight) -> {
+                for (int i = 0; i < weight; i++) {
+                    slots.add(operation);
+                }
+            });
+            this.weighted = slots.toArray(new Operation[0]);
+            this.firstSend = firstSend;
+            this.intervalNanos = intervalNanos;
+            this.measureFrom = measureFrom;
+            this.end = end;
+            for (Operation operation : Operation.values()) {
+                latencies.put(operation, new LongList());
+                errors.put(operation, new long[1]);
+                throttled.put(operation, new long[1]);
+            }
+        }
+
+        @Override
+        public void run() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long due = firstSend;
+            while (true) {
+                long sendAt;
+                if (intervalNanos > 0) {
+                    // Requests still due at the end are not sent, so a client that fell behind shows in the rate.
+                    if (due >= end || !awaitDue(due) || System.nanoTime() >= end) {
+                        return;
+                    }
+                    // A request that is late because the previous one was slow still counts from when it was due.
+                    sendAt = due;
+                    due += intervalNanos;
+                } else if ((sendAt = System.nanoTime()) >= end) {
+                    return;
+                }
+                Operation operation = created.get() == 0 ? Operation.CREATE : weighted[random.nextInt(weighted.length)];
+                Outcome outcome = execute(operation, random, sendAt >= measureFrom);
+                long latency = System.nanoTime() - sendAt;
+                if (sendAt < measureFrom) {
+                    continue;
+                }
+                switch (outcome) {
+                    case OK -> latencies.get(operation).add(latency);
+                    case THROTTLED -> throttled.get(operation)[0]++;
+                    case ERROR -> errors.get(operation)[0]++;
+                }
+            }
+        }
+
+        /**
+         * @return false if interrupted while waiting
+         */
+        private boolean awaitDue(long due) {
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+                if (Thread.currentThread().isInterrupted()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private Outcome execute(Operation operation, ThreadLocalRandom random, boolean measured) {
+            try {
+                return switch (operation) {
+                    case CREATE -> create(random, measured);
+                    case GET -> discard(get("/api/orders/" + recentId(random)));
+                    case LIST -> discard(get("/api/orders?page=" + random.nextInt(LIST_PAGES) + "&size=20"));
+                    case STATUS -> discard(get("/api/orders/" + recentId(random) + "/status"));
+                };
+            } catch (IOException e) {
+                return Outcome.ERROR;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Outcome.ERROR;
+            }
+        }
+
+        private Outcome create(ThreadLocalRandom random, boolean measured) throws IOException, InterruptedException {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders"))
+                                             .timeout(Duration.ofSeconds(30))
+                                             .header("Content-Type", "application/json")
+                                             .POST(HttpRequest.BodyPublishers.ofString(orderJson(random)))
+                                             .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 429) {
+                if (intervalNanos > 0) {
+                    // The schedule sets the pace; backing off here would only delay the requests due next.
+                    return Outcome.THROTTLED;
+                }
+                long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1);
+                TimeUnit.MILLISECONDS.sleep(Math.min(TimeUnit.SECONDS.toMillis(retryAfter), 1000));
+                return Outcome.THROTTLED;
+            }
+            if (response.statusCode() != 201 && response.statusCode() != 200) {
+                return Outcome.ERROR;
+            }
+            long id = objectMapper.readTree(response.body()).path("data").path("id").asLong();
+            long sequence = created.getAndIncrement();
+            recentIds.set((int) (sequence % RECENT_IDS), id);
+            if (measured) {
+                createdIds.add(id);
+            }
+            return Outcome.OK;
+        }
+
+        private long recentId(ThreadLocalRandom random) {
+            long known = Math.min(created.get(), RECENT_IDS);
+            long id = recentIds.get(random.nextInt((int) known));
+            return id == 0 ? recentIds.get(0) : id;
+        }
+
+        private Outcome discard(HttpRequest request) throws IOException, InterruptedException {
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200 ? Outcome.OK : Outcome.ERROR;
+        }
+    }
+
+    private String orderJson(ThreadLocalRandom random) {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"customerName\":\"").append(NAMES[random.nextInt(NAMES.length)]).append(" Load\",\"items\":[");
+        long totalCents = 0;
+        for (int i = 0; i < itemsPerOrder; i++) {
+            int quantity = 1 + random.nextInt(3);
+            int priceCents = 199 + random.nextInt(1800);
+            totalCents += (long) quantity * priceCents;
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"itemName\":\"").append(ITEMS[random.nextInt(ITEMS.length)])
+                .append("\",\"quantity\":").append(quantity)
+                .append(",\"price\":").append(cents(priceCents)).append('}');
+        }
+        return json.append("],\"totalAmount\":").append(cents(totalCents)).append('}').toString();
+    }
+
+    private static String cents(long cents) {
+        return String.format(Locale.ROOT, "%d.%02d", cents / 100, cents % 100);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] weight = part.split(":");
+            weights.put(Operation.valueOf(weight[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(weight[1].trim()));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("mix needs at least one positive weight: " + mix);
+        }
+        return weights;
+    }
+
+    private static int intArg(String[] args, String name, int defaultValue) {
+        return Integer.parseInt(stringArg(args, name, String.valueOf(defaultValue)));
+    }
+
+    private static String stringArg(String[] args, String name, String defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith(name + "=")) {
+                return arg.substring(name.length() + 1);
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Growable array of primitive longs, so millions of latency samples don't become boxed objects.
+     */
+    static final class LongList {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(LongList other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.values[i]);
+            }
+        }
+
+        long get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
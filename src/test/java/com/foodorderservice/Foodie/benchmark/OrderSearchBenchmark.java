@@ -0,0 +1,202 @@
+package com.foodorderservice.Foodie.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Seeds a MySQL database with a multi-million-row {@code orders} table (once; reruns reuse it) and, for each
+ * search shape the {@code /api/orders/search} endpoint produces, prints the EXPLAIN plan and the median
+ * latency twice: with the composite search indexes and with them ignored, leaving only the single-column
+ * indexes. Run against a scratch database, not the application's.
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes:$(cat cp.txt) \
+ *     com.foodorderservice.Foodie.benchmark.OrderSearchBenchmark \
+ *     url=jdbc:mysql://localhost:3306/foodie_bench?createDatabaseIfNotExist=true&amp;rewriteBatchedStatements=true \
+ *     user=root password=root rows=3000000 runs=15
+ * </pre>
+ */
+public class OrderSearchBenchmark {
+
+    private static final String[] NAMES = {"John", "Jane", "Bob", "Alice", "Maria", "Omar", "Wei", "Priya", "Lars", "Zoe"};
+    private static final String IGNORE_COMPOSITES = "IGNORE INDEX (idx_order_status_time, idx_customer_name_time)";
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final int SEED_BATCH = 5_000;
+    private static final int PAGE = 51;
+
+    public static void main(String[] args) throws Exception {
+        String url = stringArg(args, "url",
+                "jdbc:mysql://localhost:3306/foodie_bench?createDatabaseIfNotExist=true&rewriteBatchedStatements=true");
+        int rows = Integer.parseInt(stringArg(args, "rows", "3000000"));
+        int runs = Integer.parseInt(stringArg(args, "runs", "15"));
+
+        try (Connection connection = DriverManager.getConnection(url, stringArg(args, "user", "root"), stringArg(args, "password", "root"))) {
+            createSchema(connection);
+            seed(connection, rows);
+
+            LocalDateTime weekStart = EPOCH.plusDays(200);
+            LocalDateTime weekEnd = weekStart.plusDays(7);
+            List<SearchCase> cases = List.of(
+                    new SearchCase("status", "status IN ('PENDING')", List.of()),
+                    new SearchCase("status+time", "status IN ('PROCESSED') AND order_time >= ? AND order_time < ?",
+                            List.of(weekStart, weekEnd)),
+                    new SearchCase("statuses+time", "status IN ('PENDING', 'PROCESSING') AND order_time >= ? AND order_time < ?",
+                            List.of(weekStart, weekEnd)),
+                    new SearchCase("customer+time", "customer_name LIKE 'Priya 12%' AND order_time >= ? AND order_time < ?",
+                            List.of(EPOCH, EPOCH.plusDays(365))),
+                    new SearchCase("amount", "total_amount >= ? AND total_amount <= ?",
+                            List.of(new BigDecimal("199.00"), new BigDecimal("199.50"))),
+                    new SearchCase("status+keyset", "status IN ('DELIVERED') AND order_time <= ? AND (order_time < ? OR id < ?)",
+                            List.of(weekEnd, weekEnd, Long.MAX_VALUE)));
+
+            for (SearchCase searchCase : cases) {
+                for (String hint : new String[]{"", IGNORE_COMPOSITES}) {
+                    String sql = "SELECT id FROM orders " + hint + " WHERE " + searchCase.where()
+                            + " ORDER BY order_time DESC, id DESC LIMIT " + PAGE;
+                    System.out.printf(Locale.ROOT, "%-15s %-10s %s | median %8.2f ms%n",
+                            searchCase.name(), hint.isEmpty() ? "composite" : "single",
+                            explain(connection, sql, searchCase.params()), medianMillis(connection, sql, searchCase.params(), runs));
+                }
+            }
+        }
+    }
+
+    private record SearchCase(String name, String where, List<Object> params) {
+    }
+
+    private static void createSchema(Connection connection) throws IOException, SQLException {
+        String script;
+        try (InputStream in = OrderSearchBenchmark.class.getResourceAsStream("/schema.sql")) {
+            if (in == null) {
+                throw new IllegalStateException("schema.sql not on the classpath, run mvn compile first");
+            }
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (Statement statement = connection.createStatement()) {
+            String withoutComments = script.lines()
+                                           .filter(line -> !line.trim().startsWith("--"))
+                                           .collect(Collectors.joining("\n"));
+            for (String sql : withoutComments.split(";")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql.trim());
+                }
+            }
+        }
+    }
+
+    private static void seed(Connection connection, int rows) throws SQLException {
+        long existing;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM orders")) {
+            rs.next();
+            existing = rs.getLong(1);
+        }
+        if (existing >= rows) {
+            System.out.printf("orders has %d rows, skipping seed%n", existing);
+            return;
+        }
+
+        System.out.printf("Seeding %d orders...%n", rows - existing);
+        Random random = new Random(42);
+        long started = System.nanoTime();
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO orders (customer_name, total_amount, status, order_time, processed_time) VALUES (?, ?, ?, ?, ?)")) {
+            for (long i = existing; i < rows; i++) {
+                LocalDateTime orderTime = EPOCH.plusSeconds(random.nextInt(365 * 24 * 3600));
+                String status = status(random.nextInt(100));
+                insert.setString(1, NAMES[random.nextInt(NAMES.length)] + " " + random.nextInt(100_000));
+                insert.setBigDecimal(2, BigDecimal.valueOf(500 + random.nextInt(19_500), 2));
+                insert.setString(3, status);
+                insert.setTimestamp(4, Timestamp.valueOf(orderTime));
+                insert.setTimestamp(5, "PENDING".equals(status) || "PROCESSING".equals(status) ? null
+                        : Timestamp.valueOf(orderTime.plusSeconds(5)));
+                insert.addBatch();
+                if ((i + 1) % SEED_BATCH == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE TABLE orders");
+        }
+        System.out.printf("Seeded in %d s%n", (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+    /** Mostly finished orders, like a long-running production table. */
+    private static String status(int percentile) {
+        if (percentile < 2) {
+            return "PENDING";
+        }
+        if (percentile < 4) {
+            return "PROCESSING";
+        }
+        if (percentile < 30) {
+            return "PROCESSED";
+        }
+        return percentile < 95 ? "DELIVERED" : "CANCELLED";
+    }
+
+    private static String explain(Connection connection, String sql, List<Object> params) throws SQLException {
+        try (PreparedStatement statement = prepare(connection, "EXPLAIN " + sql, params);
+             ResultSet rs = statement.executeQuery()) {
+            rs.next();
+            return String.format(Locale.ROOT, "type=%-6s key=%-24s rows=%-9s extra=%s",
+                    rs.getString("type"), rs.getString("key"), rs.getString("rows"), rs.getString("Extra"));
+        }
+    }
+
+    private static double medianMillis(Connection connection, String sql, List<Object> params, int runs) throws SQLException {
+        long[] timings = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long started = System.nanoTime();
+            try (PreparedStatement statement = prepare(connection, sql, params);
+                 ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    rs.getLong(1);
+                }
+            }
+            timings[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(timings);
+        return timings[runs / 2] / 1e6;
+    }
+
+    private static PreparedStatement prepare(Connection connection, String sql, List<Object> params) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        for (int i = 0; i < params.size(); i++) {
+            Object param = params.get(i);
+            statement.setObject(i + 1, param instanceof LocalDateTime time ? Timestamp.valueOf(time) : param);
+        }
+        return statement;
+    }
+
+    private static String stringArg(String[] args, String name, String defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith(name + "=")) {
+                return arg.substring(name.length() + 1);
+            }
+        }
+        return defaultValue;
+    }
+}
@@ -0,0 +1,80 @@
+package com.foodorderservice.Foodie.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.foodorderservice.Foodie.dtos.OrderItemDTO;
+import com.foodorderservice.Foodie.dtos.OrderRequestDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Creating an order through the API must show up in GET /api/orders/stats right away: in the total, in the
+ * status counts and in the orders and revenue of its hour. Runs on the embedded H2 database of the
+ * {@code test} profile.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class OrderStatsEndpointTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void createdOrderIsCountedInStats() {
+        JsonNode before = stats();
+
+        ResponseEntity<JsonNode> created = restTemplate.postForEntity("/api/orders", OrderRequestDTO.builder()
+                .customerName("Stats Customer")
+                .items(List.of(OrderItemDTO.builder().itemName("Pizza").quantity(2).price(new BigDecimal("9.50")).build()))
+                .totalAmount(new BigDecimal("19.00"))
+                .build(), JsonNode.class);
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(created.getBody().path("data").path("orderTime").isNull()).isFalse();
+
+        JsonNode after = stats();
+        assertThat(after.path("totalOrders").asLong()).isEqualTo(before.path("totalOrders").asLong() + 1);
+        assertThat(statusTotal(after)).isEqualTo(statusTotal(before) + 1);
+        assertThat(hourlyOrders(after)).isEqualTo(hourlyOrders(before) + 1);
+        assertThat(hourlyRevenue(after)).isEqualByComparingTo(hourlyRevenue(before).add(new BigDecimal("19.00")));
+        after.path("ordersByStatus").forEach(count -> assertThat(count.asLong()).isNotNegative());
+    }
+
+    private JsonNode stats() {
+        ResponseEntity<JsonNode> response = restTemplate.getForEntity("/api/orders/stats", JsonNode.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody().path("data");
+    }
+
+    private static long statusTotal(JsonNode stats) {
+        long total = 0;
+        for (JsonNode count : stats.path("ordersByStatus")) {
+            total += count.asLong();
+        }
+        return total;
+    }
+
+    private static long hourlyOrders(JsonNode stats) {
+        long orders = 0;
+        for (JsonNode hour : stats.path("hourly")) {
+            orders += hour.path("orders").asLong();
+        }
+        return orders;
+    }
+
+    private static BigDecimal hourlyRevenue(JsonNode stats) {
+        BigDecimal revenue = BigDecimal.ZERO;
+        for (JsonNode hour : stats.path("hourly")) {
+            revenue = revenue.add(hour.path("revenue").decimalValue());
+        }
+        return revenue;
+    }
+}
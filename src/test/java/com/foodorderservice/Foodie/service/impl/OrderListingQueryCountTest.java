@@ -0,0 +1,86 @@
+package com.foodorderservice.Foodie.service.impl;
+
+import com.foodorderservice.Foodie.dtos.OrderItemDTO;
+import com.foodorderservice.Foodie.dtos.OrderRequestDTO;
+import com.foodorderservice.Foodie.dtos.OrderResponseDTO;
+import com.foodorderservice.Foodie.dtos.PageResponseDTO;
+import com.foodorderservice.Foodie.service.OrderService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards GET /api/orders against N+1 item loading: a page must cost the same number of statements
+ * whatever its size. Runs on the embedded H2 database of the {@code test} profile.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.foodorderservice.Foodie.service.impl.QueryCountingStatementInspector")
+@ActiveProfiles("test")
+@Transactional
+class OrderListingQueryCountTest {
+
+    private static final int SEEDED_ORDERS = 20;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void seedOrders() {
+        for (int i = 0; i < SEEDED_ORDERS; i++) {
+            orderService.createOrder(OrderRequestDTO.builder()
+                                                    .customerName("Customer " + i)
+                                                    .items(List.of(item("Pizza", 2, "9.50"), item("Soda", 1, "2.00")))
+                                                    .totalAmount(new BigDecimal("21.00"))
+                                                    .build());
+        }
+        // Start from an empty persistence context so item collections have to be loaded from the database.
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void listingIssuesConstantNumberOfStatementsPerPage() {
+        long smallPage = statementsForPage(5);
+        long largePage = statementsForPage(SEEDED_ORDERS);
+
+        // id page, count, orders with their items
+        assertThat(smallPage).isLessThanOrEqualTo(3);
+        assertThat(largePage).isEqualTo(smallPage);
+    }
+
+    @Test
+    void listingReturnsItemsInPageOrder() {
+        PageResponseDTO<OrderResponseDTO> page = orderService.getAllOrders(
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id")));
+
+        assertThat(page.getContent()).hasSize(10);
+        assertThat(page.getContent()).extracting(OrderResponseDTO::getId)
+                                     .isSortedAccordingTo((a, b) -> Long.compare(b, a));
+        assertThat(page.getContent()).allSatisfy(order -> assertThat(order.getItems()).hasSize(2));
+    }
+
+    private long statementsForPage(int size) {
+        entityManager.clear();
+        QueryCountingStatementInspector.reset();
+        orderService.getAllOrders(PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "orderTime")));
+        return QueryCountingStatementInspector.count();
+    }
+
+    private static OrderItemDTO item(String name, int quantity, String price) {
+        return OrderItemDTO.builder().itemName(name).quantity(quantity).price(new BigDecimal(price)).build();
+    }
+}
@@ -0,0 +1,164 @@
+package com.foodorderservice.Foodie.service.impl;
+
+import com.foodorderservice.Foodie.FoodieApplication;
+import com.foodorderservice.Foodie.dtos.OrderItemDTO;
+import com.foodorderservice.Foodie.dtos.OrderRequestDTO;
+import com.foodorderservice.Foodie.service.OrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two application instances against one embedded H2 database: they must split the order partitions between
+ * them, each process only its own orders, and one must take over the partitions of the other once it stops
+ * heartbeating.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class OrderPartitionLeasesTest {
+
+    private static final int PARTITIONS = 8;
+    private static final long LEASE_MS = 1000;
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode("node-a");
+        nodeB = startNode("node-b");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    /**
+     * Settings go in as command line arguments: {@code properties(...)} only sets defaults, which
+     * application.yml and the test profile would override.
+     */
+    private static ConfigurableApplicationContext startNode(String nodeId) {
+        return new SpringApplicationBuilder(FoodieApplication.class)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:foodie_partitions;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+                             + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                     "--logging.file.name=target/partitions/" + nodeId + ".log",
+                     "--order.partitioning.node-id=" + nodeId,
+                     "--order.partitioning.partitions=" + PARTITIONS,
+                     "--order.partitioning.heartbeat-ms=100",
+                     "--order.partitioning.lease-ms=" + LEASE_MS);
+    }
+
+    @Test
+    @Order(1)
+    void nodesSplitPartitionsAndProcessOnlyTheirOwn() {
+        awaitTrue(() -> owned(nodeA).size() == PARTITIONS / 2 && owned(nodeB).size() == PARTITIONS / 2);
+
+        Set<Integer> all = new HashSet<>(owned(nodeA));
+        all.addAll(owned(nodeB));
+        assertThat(all).containsExactlyInAnyOrderElementsOf(IntStream.range(0, PARTITIONS).boxed().toList());
+
+        List<Long> orderIds = createOrders(nodeA, 40);
+        awaitTrue(() -> processedCount(orderIds) == orderIds.size());
+
+        // Every order was started exactly once, each by the node owning its partition.
+        assertThat(started(nodeA) + started(nodeB)).isEqualTo(orderIds.size());
+        assertThat(started(nodeA)).isEqualTo(countInPartitions(orderIds, owned(nodeA)));
+        assertThat(started(nodeB)).isEqualTo(countInPartitions(orderIds, owned(nodeB)));
+    }
+
+    @Test
+    @Order(2)
+    void partitionsOfAStoppedNodeAreTakenOver() {
+        List<Integer> partitionsOfB = owned(nodeB);
+
+        // Node B hangs: it stops heartbeating but does not hand its partitions back.
+        ((ScheduledExecutorService) ReflectionTestUtils.getField(nodeB.getBean(OrderPartitionLeases.class), "heartbeatTimer"))
+                .shutdownNow();
+
+        awaitTrue(() -> owned(nodeB).isEmpty());
+        awaitTrue(() -> owned(nodeA).size() == PARTITIONS);
+        assertThat(owned(nodeA)).containsAll(partitionsOfB);
+
+        List<Long> orderIds = createOrders(nodeA, 20);
+        awaitTrue(() -> processedCount(orderIds) == orderIds.size());
+    }
+
+    private static List<Integer> owned(ConfigurableApplicationContext node) {
+        return node.getBean(OrderPartitionLeases.class).ownedPartitions();
+    }
+
+    private static double started(ConfigurableApplicationContext node) {
+        return node.getBean(MeterRegistry.class).get("orders.lifecycle").tag("event", "started").counter().count();
+    }
+
+    private static long countInPartitions(List<Long> orderIds, List<Integer> partitions) {
+        return orderIds.stream().filter(id -> partitions.contains((int) (id % PARTITIONS))).count();
+    }
+
+    private static List<Long> createOrders(ConfigurableApplicationContext node, int count) {
+        OrderService orderService = node.getBean(OrderService.class);
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            orderIds.add(orderService.createOrder(OrderRequestDTO.builder()
+                                                                 .customerName("Customer " + i)
+                                                                 .items(List.of(item("Pizza", 2, "9.50")))
+                                                                 .totalAmount(new BigDecimal("19.00"))
+                                                                 .build()).getId());
+        }
+        return orderIds;
+    }
+
+    private static long processedCount(List<Long> orderIds) {
+        String ids = orderIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        Long processed = nodeA.getBean(JdbcTemplate.class)
+                              .queryForObject("SELECT COUNT(*) FROM orders WHERE status = 'PROCESSED' AND id IN (" + ids + ")", Long.class);
+        return processed == null ? 0 : processed;
+    }
+
+    private static OrderItemDTO item(String name, int quantity, String price) {
+        return OrderItemDTO.builder()
+                           .itemName(name)
+                           .quantity(quantity)
+                           .price(new BigDecimal(price))
+                           .build();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 20 * LEASE_MS;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
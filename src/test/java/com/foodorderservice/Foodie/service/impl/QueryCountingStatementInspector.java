@@ -0,0 +1,26 @@
+package com.foodorderservice.Foodie.service.impl;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread. Registered through
+ * {@code hibernate.session_factory.statement_inspector}.
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public static long count() {
+        return COUNT.get()[0];
+    }
+}
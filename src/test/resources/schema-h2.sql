@@ -0,0 +1,70 @@
+-- H2 (MODE=MySQL) counterpart of schema.sql for the loadtest profile: same tables and indexes, real sequences
+-- for the pooled id generators, and none of the MySQL-only index migration statements.
+CREATE TABLE IF NOT EXISTS orders (
+    id BIGINT PRIMARY KEY,
+    customer_name VARCHAR(100) NOT NULL,
+    total_amount DECIMAL(10, 2) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    order_time TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_time TIMESTAMP NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_status ON orders (status);
+CREATE INDEX IF NOT EXISTS idx_order_status_time ON orders (status, order_time);
+CREATE INDEX IF NOT EXISTS idx_order_time ON orders (order_time);
+CREATE INDEX IF NOT EXISTS idx_customer_name_time ON orders (customer_name, order_time);
+CREATE INDEX IF NOT EXISTS idx_order_amount ON orders (total_amount);
+
+CREATE TABLE IF NOT EXISTS order_items (
+    id BIGINT PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    item_name VARCHAR(100) NOT NULL,
+    quantity INT NOT NULL,
+    price DECIMAL(10, 2) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_id ON order_items (order_id);
+
+CREATE TABLE IF NOT EXISTS order_outbox (
+    order_id BIGINT PRIMARY KEY,
+    available_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    attempts INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    lane VARCHAR(10) NOT NULL DEFAULT 'NORMAL',
+    deadline TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    CONSTRAINT fk_order_outbox_order FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_available_at ON order_outbox (available_at);
+CREATE INDEX IF NOT EXISTS idx_outbox_created_at ON order_outbox (created_at);
+CREATE INDEX IF NOT EXISTS idx_outbox_lane_deadline ON order_outbox (lane, deadline);
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(100) PRIMARY KEY,
+    request_hash CHAR(64) NOT NULL,
+    order_id BIGINT NOT NULL,
+    response TEXT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_expires_at ON idempotency_keys (expires_at);
+
+CREATE TABLE IF NOT EXISTS processing_leases (
+    partition_id INT PRIMARY KEY,
+    owner VARCHAR(100) NULL,
+    lease_until TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS processing_nodes (
+    node_id VARCHAR(100) PRIMARY KEY,
+    heartbeat_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE SEQUENCE IF NOT EXISTS orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_items_seq START WITH 1 INCREMENT BY 50;